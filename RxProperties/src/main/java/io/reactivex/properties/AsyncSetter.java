@@ -0,0 +1,192 @@
+package io.reactivex.properties;
+
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Single;
+import io.reactivex.annotations.NonNull;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Consumer;
+import io.reactivex.subjects.SingleSubject;
+
+/**
+ * runs the asynchronous sets of a {@link Property} with a switch-latest policy, every call to
+ * {@link Property#setAsync(Object)} starts a new generation, disposes the {@link Single} of the
+ * previous generation, and ends it's result with a {@link CancellationException}, so only the
+ * most recent set can commit it's value to the {@link Property}
+ * <p>
+ * the in-flight {@link Disposable} is swapped under the same lock as the generation, so a
+ * stale generation can not dispose a newer one, and the commits are serialized through a
+ * drain loop, so {@link Property#set(Object)} is never invoked while holding the lock, a commit
+ * that is replaced by a newer one before the drain loop takes it is ended with a
+ * {@link CancellationException}
+ *
+ * @param <T> the type of the values
+ */
+class AsyncSetter<T>
+{
+
+    private final Property<T> property;
+    private final AtomicInteger committing = new AtomicInteger();
+    private long generation;
+    private Disposable inFlight;
+    private SingleSubject<T> pendingResult;
+    private long commitGeneration;
+    private T commitValue;
+    private SingleSubject<T> commitResult;
+
+    AsyncSetter(Property<T> property) {
+        this.property = property;
+    }
+
+    /**
+     * start a new generation that commits the value emitted by the passed {@link Single}
+     *
+     * @param source the {@link Single} that emits the value to commit
+     * @return a {@link Single} that emits the committed value
+     */
+    Single<T> set(Single<T> source) {
+        SingleSubject<T> result = SingleSubject.create();
+        SingleSubject<T> supersededResult;
+        Disposable supersededSource;
+        final long currentGeneration;
+        synchronized (this) {
+            currentGeneration = ++generation;
+            supersededResult = pendingResult;
+            pendingResult = result;
+            supersededSource = inFlight;
+            inFlight = null;
+        }
+
+        if (supersededSource != null) {
+            supersededSource.dispose();
+        }
+        if (supersededResult != null) {
+            supersededResult.onError(new CancellationException("superseded by a newer set"));
+        }
+
+        Disposable subscription = source.subscribe(new Consumer<T>()
+        {
+            @Override
+            public void accept(@NonNull T value) throws Exception {
+                onSuccess(currentGeneration, value);
+            }
+        }, new Consumer<Throwable>()
+        {
+            @Override
+            public void accept(@NonNull Throwable e) throws Exception {
+                onError(currentGeneration, e);
+            }
+        });
+
+        boolean stale;
+        synchronized (this) {
+            stale = currentGeneration != generation;
+            if (!stale) {
+                inFlight = subscription;
+            }
+        }
+        if (stale) {
+            subscription.dispose();
+        }
+        return result;
+    }
+
+    private void onSuccess(long sourceGeneration, T value) {
+        SingleSubject<T> overwrittenResult;
+        synchronized (this) {
+            if (sourceGeneration != generation || pendingResult == null) {
+                return;
+            }
+            overwrittenResult = commitResult;
+            commitResult = pendingResult;
+            commitGeneration = sourceGeneration;
+            commitValue = value;
+            pendingResult = null;
+            inFlight = null;
+        }
+
+        if (overwrittenResult != null) {
+            overwrittenResult.onError(new CancellationException("superseded by a newer set"));
+        }
+        drainCommits();
+    }
+
+    private void drainCommits() {
+        if (committing.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            while (true) {
+                SingleSubject<T> result;
+                T value;
+                boolean superseded;
+                synchronized (this) {
+                    result = commitResult;
+                    value = commitValue;
+                    superseded = commitGeneration != generation;
+                    commitResult = null;
+                    commitValue = null;
+                }
+
+                if (result == null) {
+                    break;
+                } else if (superseded) {
+                    result.onError(new CancellationException("superseded by a newer set"));
+                } else {
+                    commit(result, value);
+                }
+            }
+            missed = committing.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void commit(SingleSubject<T> result, T value) {
+        try {
+            property.set(value);
+        } catch (Throwable e) {
+            result.onError(e);
+            return;
+        }
+        result.onSuccess(value);
+    }
+
+    private void onError(long sourceGeneration, Throwable e) {
+        SingleSubject<T> result;
+        synchronized (this) {
+            if (sourceGeneration != generation || pendingResult == null) {
+                return;
+            }
+            result = pendingResult;
+            pendingResult = null;
+            inFlight = null;
+        }
+        result.onError(e);
+    }
+
+    /**
+     * cancel the running set (if any), and end it's result with a {@link CancellationException}
+     */
+    void cancel() {
+        SingleSubject<T> result;
+        Disposable source;
+        synchronized (this) {
+            generation++;
+            result = pendingResult;
+            pendingResult = null;
+            source = inFlight;
+            inFlight = null;
+        }
+
+        if (source != null) {
+            source.dispose();
+        }
+        if (result != null) {
+            result.onError(new CancellationException("property cleared"));
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.reactivex.properties;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * a lock-free bounded queue backed by an array, multiple threads can offer and poll items
+ * at the same time, every slot holds a sequence number that tells if it is ready to be written
+ * or read, so producers and consumers only compete on the position counters
+ *
+ * @param <T> the type of the items
+ */
+class BoundedQueue<T>
+{
+
+    private final int capacity;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerPosition = new AtomicLong();
+    private final AtomicLong consumerPosition = new AtomicLong();
+
+    BoundedQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("queue capacity must be positive : " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.items = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * add an item to the tail of the queue
+     *
+     * @param item the {@code non-null} item
+     * @return {@code true} if the item was added, or {@code false} if the queue is full
+     */
+    boolean offer(T item) {
+        long position = producerPosition.get();
+        int index;
+        while (true) {
+            index = (int) (position % capacity);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = producerPosition.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = producerPosition.get();
+            }
+        }
+
+        items.lazySet(index, item);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * remove the item at the head of the queue
+     *
+     * @return the removed item, or {@code null} if the queue is empty
+     */
+    T poll() {
+        long position = consumerPosition.get();
+        int index;
+        while (true) {
+            index = (int) (position % capacity);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (consumerPosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = consumerPosition.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = consumerPosition.get();
+            }
+        }
+
+        T item = items.get(index);
+        items.lazySet(index, null);
+        sequences.set(index, position + capacity);
+        return item;
+    }
+
+    boolean isEmpty() {
+        return producerPosition.get() == consumerPosition.get();
+    }
+
+    int size() {
+        long size = producerPosition.get() - consumerPosition.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+}
@@ -0,0 +1,158 @@
+package io.reactivex.properties;
+
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.ObservableEmitter;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Function;
+import io.reactivex.properties.exceptions.InvocationException;
+
+/**
+ * a {@link Property} that holds the result of combining the latest values of other
+ * {@link Property} instances, it is updated directly from the {@link Property#set(Object)} of
+ * it's sources, the combiner is invoked only when all the sources hold {@code non-null} values
+ * <p>
+ * the combiner is invoked under the lock of this instance, while the combined values are set
+ * outside of it through a drain loop, so the subscribers never run under the lock, and the
+ * last combined value is always the last one set, a failing combiner is passed to the errors
+ * of this {@link Property}, not to the source that was set
+ *
+ * @param <R> the type of the combined value
+ */
+class CombinedProperty<R> extends Property<R>
+{
+
+    private final Object[] latestValues;
+    private final Disposable[] sourceListeners;
+    private final Function<? super Object[], ? extends R> combiner;
+    private final AtomicInteger setting = new AtomicInteger();
+    private int nullValuesCount;
+    private R pendingResult;
+    private Throwable pendingError;
+    private boolean pending;
+
+    @SuppressWarnings("unchecked")
+    CombinedProperty(List<? extends Property<?>> sources, Function<? super Object[], ? extends R> combiner) {
+        this.combiner = combiner;
+        this.latestValues = new Object[sources.size()];
+        this.sourceListeners = new Disposable[sources.size()];
+        this.nullValuesCount = sources.size();
+
+        for (int i = 0; i < sources.size(); i++) {
+            Property<Object> source = (Property<Object>) sources.get(i);
+            updateLatestValue(i, source.object);
+            sourceListeners[i] = source.addSetListener(new SourceListener(i));
+        }
+
+        if (nullValuesCount == 0) {
+            synchronized (this) {
+                combine();
+            }
+            setPendingResults();
+        }
+    }
+
+    private void onSourceSet(int index, Object value) {
+        synchronized (this) {
+            updateLatestValue(index, value);
+            if (nullValuesCount != 0) {
+                return;
+            }
+            combine();
+        }
+        setPendingResults();
+    }
+
+    private void updateLatestValue(int index, Object value) {
+        if (latestValues[index] == null && value != null) {
+            nullValuesCount--;
+        } else if (latestValues[index] != null && value == null) {
+            nullValuesCount++;
+        }
+        latestValues[index] = value;
+    }
+
+    private void combine() {
+        try {
+            pendingResult = combiner.apply(latestValues);
+            pendingError = null;
+        } catch (Throwable e) {
+            pendingResult = null;
+            pendingError = new InvocationException("failed to combine values", e);
+        }
+        pending = true;
+    }
+
+    private void setPendingResults() {
+        if (setting.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            while (true) {
+                R result;
+                Throwable error;
+                synchronized (this) {
+                    if (!pending) {
+                        break;
+                    }
+                    result = pendingResult;
+                    error = pendingError;
+                    pendingResult = null;
+                    pendingError = null;
+                    pending = false;
+                }
+
+                if (error != null) {
+                    onError(error);
+                    continue;
+                }
+
+                try {
+                    set(result);
+                } catch (Throwable e) {
+                    onError(e);
+                }
+            }
+            missed = setting.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * stop listening to the sources, then clear this {@link Property}
+     */
+    @Override
+    public void clear() {
+        disposeSourceListeners();
+        super.clear();
+    }
+
+    @Override
+    void clear(List<ObservableEmitter<?>> pendingCompletions) {
+        disposeSourceListeners();
+        super.clear(pendingCompletions);
+    }
+
+    private void disposeSourceListeners() {
+        for (Disposable listener : sourceListeners) {
+            listener.dispose();
+        }
+    }
+
+    private class SourceListener implements SetListeners.Listener<Object>
+    {
+        private final int index;
+
+        SourceListener(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void onSet(Object value) {
+            onSourceSet(index, value);
+        }
+    }
+}
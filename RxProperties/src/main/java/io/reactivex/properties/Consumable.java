@@ -1,9 +1,19 @@
 package io.reactivex.properties;
 
 
-import io.reactivex.properties.exceptions.ConsumedException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.ObservableOnSubscribe;
+import io.reactivex.annotations.NonNull;
+import io.reactivex.functions.Cancellable;
+import io.reactivex.functions.Function;
+import io.reactivex.functions.Predicate;
+import io.reactivex.properties.exceptions.ConsumedException;
 
 /**
  * a Class that holds an Object that is used only once, you will need to invoke {@link #set(Object)}
@@ -11,11 +21,18 @@ import io.reactivex.Maybe;
  * the reference to this Object is set to {@code null}, you can invoke {@link #set(Object)}
  * again and so on
  * <p>
+ * taking the Object and resetting it to {@code null} is done in one atomic step, so when
+ * multiple threads are consuming the same {@link Consumable}, only one of them will receive
+ * the stored Object
+ * <p>
  * Created by Ahmed Adel on 12/28/2016.
  */
 public class Consumable<T> extends Property<T>
 {
 
+    private final List<ObservableEmitter<T>> emitters = new CopyOnWriteArrayList<>();
+    private final AtomicInteger emittingCount = new AtomicInteger();
+
     public Consumable() {
     }
 
@@ -32,6 +49,9 @@ public class Consumable<T> extends Property<T>
     @Override
     public T set(T object) {
         super.set(object);
+        if (!emitters.isEmpty()) {
+            emitStoredObject();
+        }
         return object;
     }
 
@@ -43,9 +63,7 @@ public class Consumable<T> extends Property<T>
      */
     @Override
     public T get() {
-        T newObject = super.get();
-        object = null;
-        return newObject;
+        return applyOnGet(getAndClear());
     }
 
     /**
@@ -56,8 +74,9 @@ public class Consumable<T> extends Property<T>
      * @throws ConsumedException if the consumable object is {@code null}
      */
     public T consume() throws ConsumedException {
-        if (object != null) {
-            return get();
+        T newObject = getAndClear();
+        if (newObject != null) {
+            return applyOnGet(newObject);
         }
         else {
             throw new ConsumedException();
@@ -71,6 +90,135 @@ public class Consumable<T> extends Property<T>
      */
     @Override
     public Maybe<T> asMaybe() {
-        return super.asMaybe();
+        T newObject = getAndClear();
+        if (newObject != null) {
+            return Maybe.just(applyOnGet(newObject));
+        }
+        else {
+            return Maybe.empty();
+        }
+    }
+
+    /**
+     * creates an {@link Observable} that emits the consumable Object, every Object is emitted
+     * to only one subscriber (the oldest active one) and it is consumed as soon as it is emitted,
+     * if there are no active subscribers, the Object is kept until a subscriber is available
+     * or until it is consumed through {@link #get()} or {@link #consume()}
+     * <p>
+     * the {@link #onGet(io.reactivex.functions.Function)} function is invoked once for every
+     * emitted Object
+     *
+     * @return an {@link Observable} that emits the consumable Objects
+     */
+    @Override
+    public Observable<T> asObservable() {
+        return Observable.create(new ObservableOnSubscribe<T>()
+        {
+            @Override
+            public void subscribe(@NonNull final ObservableEmitter<T> e) throws Exception {
+                e.setCancellable(new Cancellable()
+                {
+                    @Override
+                    public void cancel() throws Exception {
+                        emitters.remove(e);
+                    }
+                });
+                emitters.add(e);
+                emitStoredObject();
+            }
+        });
+    }
+
+    /**
+     * a {@link Consumable} does not keep the consumed Objects, so {@link Replay#none()} and
+     * {@link Replay#latest()} are the same as {@link #asObservable()}, the Object that was not
+     * consumed yet is still emitted to the first subscriber, since it is not a replay
+     *
+     * @throws UnsupportedOperationException for {@link Replay#last(int)} with more than one
+     *                                       Object, since the consumed Objects are not kept
+     */
+    @Override
+    public Observable<T> asObservable(Replay replay) {
+        if (replay.count() > 1) {
+            throw new UnsupportedOperationException("consumed Objects can not be replayed");
+        }
+        return asObservable();
+    }
+
+    /**
+     * same as invoking {@code filter()} and {@code map()} on {@link #asObservable()}, so a
+     * rejected Object is still consumed
+     */
+    @Override
+    public <R> Observable<R> asObservable(Predicate<? super T> filter,
+                                          Function<? super T, ? extends R> mapper) {
+        return asObservable().filter(filter).map(mapper);
+    }
+
+    private void emitStoredObject() {
+        if (emittingCount.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            ObservableEmitter<T> emitter;
+            while (object != null && (emitter = firstActiveEmitter()) != null) {
+                emitToSingleEmitter(emitter);
+            }
+            missed = emittingCount.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void emitToSingleEmitter(ObservableEmitter<T> emitter) {
+        T newObject = getAndClear();
+        if (newObject == null) {
+            return;
+        }
+
+        if (emitter.isDisposed()) {
+            setIfEmpty(newObject);
+            return;
+        }
+
+        try {
+            emitter.onNext(applyOnGet(newObject));
+        } catch (Throwable e) {
+            emitter.onError(e);
+        }
+    }
+
+    private ObservableEmitter<T> firstActiveEmitter() {
+        for (ObservableEmitter<T> emitter : emitters) {
+            if (!emitter.isDisposed()) {
+                return emitter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * clear the consumable Object, and complete all the subscribers of {@link #asObservable()}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        for (ObservableEmitter<T> emitter : emitters) {
+            if (!emitter.isDisposed()) {
+                emitter.onComplete();
+            }
+        }
+        emitters.clear();
+    }
+
+    @Override
+    void clear(List<ObservableEmitter<?>> pendingCompletions) {
+        super.clear(pendingCompletions);
+        for (ObservableEmitter<T> emitter : emitters) {
+            if (!emitter.isDisposed()) {
+                pendingCompletions.add(emitter);
+            }
+        }
+        emitters.clear();
     }
 }
@@ -2,175 +2,331 @@ package io.reactivex.properties;
 
 
 import java.lang.ref.WeakReference;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.reactivex.Emitter;
-import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
-import io.reactivex.annotations.NonNull;
-import io.reactivex.functions.Consumer;
+import io.reactivex.Scheduler;
 import io.reactivex.functions.Function;
 import io.reactivex.functions.Predicate;
 
 /**
  * a group of {@link Emitter} instances
  * <p>
+ * every emitter can have it's own filter and mapper, they are invoked directly before
+ * emitting to this emitter, so a value rejected by the filter does not reach the emitter
+ * at all, and a filter or a mapper that throws an exception ends only it's own emitter
+ * <p>
+ * the emitters are kept in a copy-on-write array, adding and removing are synchronized and
+ * replace the array, while emitting iterates over the array that was current when it started,
+ * so values can be emitted from a {@link Scheduler} thread (like the rate limited notifications)
+ * while subscribers are added or disposed on other threads
+ * <p>
+ * when {@link SlowSubscribers} are set, every delivery is timed, and the emitters that take
+ * longer than the budget are reported, and optionally moved to their own asynchronous lane,
+ * with a bounded queue that drops the oldest values when it is full
+ * <p>
  * Created by Ahmed Adel Ismail on 4/24/2017.
  */
-class EmittersGroup<T> extends LinkedList<WeakReference<ObservableEmitter<T>>>
-        implements
-        Emitter<T>
+class EmittersGroup<T> implements Emitter<T>
 {
 
+    private static final Entry<?, ?>[] EMPTY = new Entry<?, ?>[0];
 
-    public void update(ObservableEmitter<T> object) {
-
-        try {
-            clearDisposedEmitters();
-        } catch (Throwable e) {
-            e.printStackTrace();
-        } finally {
-            add(new WeakReference<>(object));
-        }
-    }
+    private volatile Entry<?, ?>[] entries = EMPTY;
+    private volatile SlowSubscribers slowSubscribers;
 
-    private void clearDisposedEmitters() throws NullPointerException {
-        Observable.fromIterable(this)
-                .filter(byNonNullReference())
-                .filter(byDisposed())
-                .blockingForEach(invokeRemove());
+    void slowSubscribers(SlowSubscribers slowSubscribers) {
+        this.slowSubscribers = slowSubscribers;
     }
 
-    private Predicate<WeakReference<ObservableEmitter<T>>> byNonNullReference() {
-        return new Predicate<WeakReference<ObservableEmitter<T>>>()
-        {
-            @Override
-            public boolean test(@NonNull WeakReference<ObservableEmitter<T>> ref) throws Exception {
-                return ref.get() != null;
-            }
-        };
+    public void update(ObservableEmitter<T> object) {
+        update(object, null, null);
     }
 
-    private Predicate<WeakReference<ObservableEmitter<T>>> byDisposed() {
-        return new Predicate<WeakReference<ObservableEmitter<T>>>()
-        {
-            @Override
-            public boolean test(@NonNull WeakReference<ObservableEmitter<T>> ref) throws Exception {
-                return ref.get().isDisposed();
+    /**
+     * add an emitter with it's own filter and mapper
+     *
+     * @param object the emitter
+     * @param filter the {@link Predicate} that decides which values reach the emitter,
+     *               or {@code null} to emit all the values
+     * @param mapper the {@link Function} that maps the values before emitting them,
+     *               or {@code null} if the emitter has the same type of this group
+     * @return the added entry
+     */
+    synchronized <R> Entry<T, R> update(ObservableEmitter<R> object,
+                                        Predicate<? super T> filter,
+                                        Function<? super T, ? extends R> mapper) {
+        Entry<T, R> entry = new Entry<>(object, filter, mapper);
+        Entry<?, ?>[] current = entries;
+        Entry<?, ?>[] updated = new Entry<?, ?>[current.length + 1];
+        int size = 0;
+        for (Entry<?, ?> existing : current) {
+            ObservableEmitter<?> emitter = existing.get();
+            if (emitter == null || emitter.isDisposed()) {
+                existing.releaseLane();
+            } else {
+                updated[size++] = existing;
             }
-        };
+        }
+        updated[size++] = entry;
+        entries = size == updated.length ? updated : Arrays.copyOf(updated, size);
+        return entry;
     }
 
-    private Consumer<WeakReference<ObservableEmitter<T>>> invokeRemove() {
-        return new Consumer<WeakReference<ObservableEmitter<T>>>()
-        {
-            @Override
-            public void accept(WeakReference<ObservableEmitter<T>> ref) throws Exception {
-                remove(ref);
+    public final boolean contains(final ObservableEmitter<?> emitter) {
+        for (Entry<?, ?> entry : entries) {
+            if (emitter.equals(entry.get())) {
+                return true;
             }
-        };
+        }
+        return false;
     }
 
-    public final boolean contains(final ObservableEmitter<T> emitter) {
-        return Observable.fromIterable(this)
-                .map(toObservableEmitter())
-                .filter(byNonNull())
-                .map(toEmitterEquals(emitter))
-                .any(isTrue())
-                .onErrorReturn(toFalse())
-                .blockingGet();
+    boolean isEmpty() {
+        return entries.length == 0;
     }
 
-    private Function<WeakReference<ObservableEmitter<T>>, ObservableEmitter<T>> toObservableEmitter() {
-        return new Function<WeakReference<ObservableEmitter<T>>, ObservableEmitter<T>>()
-        {
-            @Override
-            public ObservableEmitter<T> apply(@NonNull WeakReference<ObservableEmitter<T>> ref) throws Exception {
-                return ref.get();
-            }
-        };
+    int size() {
+        return entries.length;
     }
 
-    private Predicate<ObservableEmitter<T>> byNonNull() {
-        return new Predicate<ObservableEmitter<T>>()
-        {
-            @Override
-            public boolean test(@NonNull ObservableEmitter<T> emitter) throws Exception {
-                return emitter != null;
-            }
-        };
+    /**
+     * remove all the emitters from this group
+     */
+    synchronized void clear() {
+        entries = EMPTY;
     }
 
-    private Function<ObservableEmitter<T>, Boolean> toEmitterEquals(final ObservableEmitter<T> emitter) {
-        return new Function<ObservableEmitter<T>, Boolean>()
-        {
-            @Override
-            public Boolean apply(@NonNull ObservableEmitter<T> otherEmitter) throws Exception {
-                return emitter.equals(otherEmitter);
-            }
-        };
-    }
+    /**
+     * move the active emitters to the passed {@link List} and remove all the emitters from
+     * this group, the emitters that were moved to an asynchronous lane are not moved, their
+     * completion is queued on their lane instead, after the values waiting in it
+     *
+     * @param target the {@link List} that will hold the active emitters
+     */
+    void moveTo(List<? super ObservableEmitter<?>> target) {
+        Entry<?, ?>[] removed;
+        synchronized (this) {
+            removed = entries;
+            entries = EMPTY;
+        }
 
-    private Predicate<Boolean> isTrue() {
-        return new Predicate<Boolean>()
-        {
-            @Override
-            public boolean test(@NonNull Boolean booleanValue) throws Exception {
-                return booleanValue;
+        for (Entry<?, ?> entry : removed) {
+            ObservableEmitter<?> emitter = entry.get();
+            if (emitter == null || emitter.isDisposed()) {
+                continue;
             }
-        };
-    }
 
-    private Function<Throwable, Boolean> toFalse() {
-        return new Function<Throwable, Boolean>()
-        {
-            @Override
-            public Boolean apply(@NonNull Throwable throwable) throws Exception {
-                return false;
+            if (entry.lane != null) {
+                entry.terminate(Lane.COMPLETE);
+            } else {
+                target.add(emitter);
             }
-        };
+        }
     }
 
-
     @Override
+    @SuppressWarnings("unchecked")
     public void onNext(final T value) {
-        Observable.fromIterable(this).forEach(new Consumer<WeakReference<ObservableEmitter<T>>>()
-        {
-            @Override
-            public void accept(WeakReference<ObservableEmitter<T>> e) throws Exception {
-                ObservableEmitter<T> emitter = e.get();
-                if (emitter != null && !emitter.isDisposed()) {
-                    emitter.onNext(value);
-                }
-            }
-        });
+        SlowSubscribers slow = slowSubscribers;
+        for (Entry<?, ?> entry : entries) {
+            ((Entry<T, ?>) entry).onNext(value, slow);
+        }
     }
 
     @Override
     public void onError(final Throwable error) {
-        Observable.fromIterable(this).forEach(new Consumer<WeakReference<ObservableEmitter<T>>>()
-        {
-            @Override
-            public void accept(WeakReference<ObservableEmitter<T>> e) throws Exception {
-                ObservableEmitter<T> emitter = e.get();
-                if (emitter != null && !emitter.isDisposed()) {
-                    emitter.onError(error);
-                }
-            }
-        });
+        for (Entry<?, ?> entry : entries) {
+            entry.terminate(error);
+        }
     }
 
     @Override
     public void onComplete() {
-        Observable.fromIterable(this).forEach(new Consumer<WeakReference<ObservableEmitter<T>>>()
-        {
-            @Override
-            public void accept(WeakReference<ObservableEmitter<T>> e) throws Exception {
-                ObservableEmitter<T> emitter = e.get();
-                if (emitter != null && !emitter.isDisposed()) {
-                    emitter.onComplete();
+        for (Entry<?, ?> entry : entries) {
+            entry.terminate(Lane.COMPLETE);
+        }
+    }
+
+    /**
+     * an emitter in the group, with it's filter and mapper
+     *
+     * @param <T> the type of the values of the group
+     * @param <R> the type of the values of the emitter
+     */
+    static class Entry<T, R> extends WeakReference<ObservableEmitter<R>>
+    {
+        private final Predicate<? super T> filter;
+        private final Function<? super T, ? extends R> mapper;
+        private volatile Lane<R> lane;
+
+        Entry(ObservableEmitter<R> emitter,
+              Predicate<? super T> filter,
+              Function<? super T, ? extends R> mapper) {
+            super(emitter);
+            this.filter = filter;
+            this.mapper = mapper;
+        }
+
+        /**
+         * emit a value to this entry's emitter, if it passes the filter
+         *
+         * @param value the value of the group
+         */
+        void onNext(T value) {
+            onNext(value, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        void onNext(T value, SlowSubscribers slow) {
+            ObservableEmitter<R> emitter = get();
+            if (emitter == null || emitter.isDisposed()) {
+                return;
+            }
+
+            R result;
+            try {
+                if (filter != null && !filter.test(value)) {
+                    return;
                 }
+                result = mapper != null ? mapper.apply(value) : (R) value;
+            } catch (Throwable e) {
+                terminate(e);
+                return;
             }
-        });
+
+            if (result == null) {
+                terminate(new NullPointerException("mapper returned null"));
+                return;
+            }
+
+            Lane<R> currentLane = lane;
+            if (currentLane != null) {
+                currentLane.offer(result);
+            } else if (slow == null) {
+                emitter.onNext(result);
+            } else {
+                onNextTimed(emitter, result, slow);
+            }
+        }
+
+        private void onNextTimed(ObservableEmitter<R> emitter, R result, SlowSubscribers slow) {
+            long start = System.nanoTime();
+            emitter.onNext(result);
+            long duration = System.nanoTime() - start;
+            if (duration <= slow.budgetNanos) {
+                return;
+            }
+
+            boolean isolate = slow.canIsolate();
+            if (isolate) {
+                Scheduler.Worker worker = slow.isolationScheduler.createWorker();
+                lane = new Lane<>(emitter, worker, slow.isolationQueueCapacity);
+                emitter.setDisposable(worker);
+            }
+            slow.report(duration, isolate);
+        }
+
+        /**
+         * release the {@link Scheduler.Worker} of this entry's lane (if any)
+         */
+        void releaseLane() {
+            Lane<R> currentLane = lane;
+            if (currentLane != null) {
+                currentLane.worker.dispose();
+            }
+        }
+
+        /**
+         * end this entry's emitter, after the values waiting in it's lane (if any)
+         *
+         * @param terminal a {@link Throwable}, or {@link Lane#COMPLETE}
+         */
+        void terminate(Object terminal) {
+            ObservableEmitter<R> emitter = get();
+            if (emitter == null || emitter.isDisposed()) {
+                return;
+            }
+
+            Lane<R> currentLane = lane;
+            if (currentLane != null) {
+                currentLane.terminate(terminal);
+            } else if (terminal == Lane.COMPLETE) {
+                emitter.onComplete();
+            } else {
+                emitter.onError((Throwable) terminal);
+            }
+        }
+    }
+
+    /**
+     * the asynchronous lane of a slow emitter, the values are queued and emitted in order on a
+     * {@link Scheduler.Worker}, when the queue is full, the oldest value is dropped
+     *
+     * @param <R> the type of the values of the emitter
+     */
+    static class Lane<R> implements Runnable
+    {
+        static final Object COMPLETE = new Object();
+
+        private final ObservableEmitter<R> emitter;
+        private final Scheduler.Worker worker;
+        private final BoundedQueue<R> queue;
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile Object terminal;
+
+        Lane(ObservableEmitter<R> emitter, Scheduler.Worker worker, int capacity) {
+            this.emitter = emitter;
+            this.worker = worker;
+            this.queue = new BoundedQueue<>(capacity);
+        }
+
+        void offer(R value) {
+            while (!queue.offer(value)) {
+                queue.poll();
+            }
+            schedule();
+        }
+
+        void terminate(Object terminal) {
+            this.terminal = terminal;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                R value;
+                while ((value = queue.poll()) != null) {
+                    if (emitter.isDisposed()) {
+                        worker.dispose();
+                        return;
+                    }
+                    emitter.onNext(value);
+                }
+
+                Object currentTerminal = terminal;
+                if (currentTerminal != null && queue.isEmpty()) {
+                    if (currentTerminal == COMPLETE) {
+                        emitter.onComplete();
+                    } else {
+                        emitter.onError((Throwable) currentTerminal);
+                    }
+                    worker.dispose();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
     }
 }
@@ -0,0 +1,22 @@
+package io.reactivex.properties;
+
+/**
+ * decides where the errors of a {@link Property} go, like the {@link NullPointerException}
+ * of setting {@code null}, or an exception thrown by {@link Property#onGet(io.reactivex.functions.Function)}
+ * while notifying the subscribers of {@link Property#asObservable()}
+ */
+public enum ErrorPolicy
+{
+    /**
+     * emit the error to all the subscribers of {@link Property#asObservable()}, which ends
+     * their subscriptions, this is the default policy
+     */
+    PROPAGATE,
+    /**
+     * emit the error to the subscribers of {@link Property#errors()} instead, and keep the
+     * subscribers of {@link Property#asObservable()} active, if there are no subscribers to
+     * {@link Property#errors()}, the most recent error is kept for the next subscriber, an
+     * error while subscribing to {@link Property#asObservable()} still ends that subscription
+     */
+    SIDE_CHANNEL
+}
@@ -0,0 +1,295 @@
+package io.reactivex.properties;
+
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.annotations.NonNull;
+import io.reactivex.functions.BiPredicate;
+import io.reactivex.functions.Consumer;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.properties.exceptions.InvocationException;
+
+/**
+ * a {@link State} that moves between it's states based on events, every state declares the
+ * events it accepts through {@link #transition(SwitchableState, Object, SwitchableState)}, and
+ * when an event is passed to {@link #handle(Object)}, the transition registered for the
+ * current state and this event is executed, events that has no transitions for the current state
+ * are ignored
+ * <p>
+ * the {@link SwitchableState#next()} and {@link SwitchableState#back()} methods are still
+ * available, so linear flows and event driven flows can be mixed on the same instance
+ * <p>
+ * by default events are handled on the caller thread, if events are coming from multiple threads
+ * (like multiple {@link io.reactivex.Observable} streams subscribed on different schedulers),
+ * invoke {@link #serialized()} so that events are queued and handled one at a time
+ *
+ * @param <S> the type of the states
+ * @param <E> the type of the events
+ */
+public class EventState<S extends SwitchableState<S>, E> extends State<S>
+{
+
+    private final Map<S, Map<E, Transition<S, E>>> transitions = new HashMap<>();
+    private final Map<S, Consumer<E>> onEnter = new HashMap<>();
+    private final Map<S, Consumer<E>> onExit = new HashMap<>();
+    private Queue<PendingEvent<E>> pendingEvents;
+    private AtomicInteger pendingEventsCount;
+
+
+    public EventState(@NonNull S object) {
+        super(object);
+    }
+
+    /**
+     * register a transition from a state to another state when a specific event is received
+     *
+     * @param from  the state that will handle the event
+     * @param event the event that triggers this transition
+     * @param to    the state to move to
+     * @param <X>   the sub-class of this {@link EventState}
+     * @return the sub-class of this {@link EventState} to be used for chaining
+     */
+    public <X extends EventState<S, E>> X transition(@NonNull S from, @NonNull E event, @NonNull S to) {
+        return transition(from, event, to, null);
+    }
+
+    /**
+     * register a guarded transition from a state to another state when a specific event is
+     * received, multiple transitions can be registered for the same state and event, they
+     * will be checked in the order of registration, and the first transition that it's
+     * guard returns {@code true} will be executed
+     *
+     * @param from  the state that will handle the event
+     * @param event the event that triggers this transition
+     * @param to    the state to move to
+     * @param guard a {@link BiPredicate} that takes the current state and the event, and
+     *              returns {@code true} if the transition is allowed, passing {@code null}
+     *              means that the transition is always allowed
+     * @param <X>   the sub-class of this {@link EventState}
+     * @return the sub-class of this {@link EventState} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <X extends EventState<S, E>> X transition(@NonNull S from,
+                                                     @NonNull E event,
+                                                     @NonNull S to,
+                                                     BiPredicate<S, E> guard) {
+        Map<E, Transition<S, E>> stateTransitions = transitions.get(from);
+        if (stateTransitions == null) {
+            stateTransitions = new HashMap<>();
+            transitions.put(from, stateTransitions);
+        }
+
+        Transition<S, E> transition = new Transition<>(to, guard);
+        Transition<S, E> last = stateTransitions.get(event);
+        if (last == null) {
+            stateTransitions.put(event, transition);
+        } else {
+            while (last.next != null) {
+                last = last.next;
+            }
+            last.next = transition;
+        }
+        return (X) this;
+    }
+
+    /**
+     * set a {@link Consumer} that will be executed every time an event moves this instance
+     * to the passed state, it will be invoked after the state is updated, and after the exit
+     * action of the previous state
+     *
+     * @param state   the state to be entered
+     * @param onEnter the {@link Consumer} that will take the event that caused the transition
+     * @param <X>     the sub-class of this {@link EventState}
+     * @return the sub-class of this {@link EventState} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <X extends EventState<S, E>> X onEnter(@NonNull S state, Consumer<E> onEnter) {
+        this.onEnter.put(state, onEnter);
+        return (X) this;
+    }
+
+    /**
+     * set a {@link Consumer} that will be executed every time an event moves this instance
+     * out of the passed state, it will be invoked after the state is updated, and only if
+     * the new state was accepted (not rejected by a filter)
+     *
+     * @param state  the state to be exited
+     * @param onExit the {@link Consumer} that will take the event that caused the transition
+     * @param <X>    the sub-class of this {@link EventState}
+     * @return the sub-class of this {@link EventState} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <X extends EventState<S, E>> X onExit(@NonNull S state, Consumer<E> onExit) {
+        this.onExit.put(state, onExit);
+        return (X) this;
+    }
+
+    /**
+     * make this instance accept events from multiple threads, events will be queued and
+     * handled one at a time by the thread that is currently handling events, so guards and
+     * actions will never run concurrently
+     * <p>
+     * a failure while handling an event is thrown from {@link #handle(Object)} only if the
+     * event was handled by the same thread that passed it, the failures of the events passed
+     * by other threads are sent to {@link RxJavaPlugins#onError(Throwable)}, since the threads
+     * that passed them have already returned
+     *
+     * @param <X> the sub-class of this {@link EventState}
+     * @return the sub-class of this {@link EventState} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <X extends EventState<S, E>> X serialized() {
+        if (pendingEvents == null) {
+            pendingEventsCount = new AtomicInteger();
+            pendingEvents = new ConcurrentLinkedQueue<>();
+        }
+        return (X) this;
+    }
+
+    /**
+     * handle an event, if the current state has a transition registered for this event and
+     * it's guard allows it, the state is updated, then if the new state was accepted, the exit
+     * action of the previous state is invoked, then the enter action of the new state
+     *
+     * @param event the event to handle
+     * @throws InvocationException if a guard or an action failed
+     */
+    public void handle(@NonNull E event) throws InvocationException {
+        if (pendingEvents == null) {
+            doHandle(event);
+        } else {
+            PendingEvent<E> pendingEvent = new PendingEvent<>(event);
+            pendingEvents.offer(pendingEvent);
+            drainPendingEvents(pendingEvent);
+        }
+    }
+
+    private void drainPendingEvents(PendingEvent<E> ownEvent) {
+        if (pendingEventsCount.getAndIncrement() != 0) {
+            return;
+        }
+
+        RuntimeException error = null;
+        boolean drained = false;
+        int missed = 1;
+        try {
+            do {
+                PendingEvent<E> pendingEvent;
+                while ((pendingEvent = pendingEvents.poll()) != null) {
+                    try {
+                        doHandle(pendingEvent.event);
+                    } catch (RuntimeException e) {
+                        if (pendingEvent == ownEvent) {
+                            error = e;
+                        } else {
+                            RxJavaPlugins.onError(e);
+                        }
+                    }
+                }
+                missed = pendingEventsCount.addAndGet(-missed);
+            } while (missed != 0);
+            drained = true;
+        } finally {
+            if (!drained) {
+                // an Error escaped, release the drain so the next event is handled, the events
+                // still queued are handled by the thread that handles the next event
+                pendingEventsCount.set(0);
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void doHandle(E event) {
+        S current = object;
+        Map<E, Transition<S, E>> stateTransitions = transitions.get(current);
+        if (stateTransitions == null) {
+            return;
+        }
+
+        Transition<S, E> transition = stateTransitions.get(event);
+        while (transition != null && !isAllowed(transition, current, event)) {
+            transition = transition.next;
+        }
+
+        if (transition == null) {
+            return;
+        }
+
+        long previousVersion = version();
+        set(transition.target);
+        if (changedSince(previousVersion)) {
+            invokeAction(onExit.get(current), event);
+            invokeAction(onEnter.get(object), event);
+        }
+    }
+
+    private boolean isAllowed(Transition<S, E> transition, S current, E event) {
+        if (transition.guard == null) {
+            return true;
+        }
+
+        try {
+            return transition.guard.test(current, event);
+        } catch (Throwable e) {
+            throw new InvocationException("failed to execute guard for (" + current + ", "
+                    + event + ")", e);
+        }
+    }
+
+    private void invokeAction(Consumer<E> action, E event) {
+        if (action == null) {
+            return;
+        }
+
+        try {
+            action.accept(event);
+        } catch (Throwable e) {
+            throw new InvocationException("failed to execute action for (" + event + ")", e);
+        }
+    }
+
+    /**
+     * get a {@link Consumer} that passes it's values to {@link #handle(Object)}, this is
+     * used to subscribe this instance to {@link io.reactivex.Observable} streams of events
+     *
+     * @return a {@link Consumer} that handles the events passed to it
+     */
+    public Consumer<E> events() {
+        return new Consumer<E>()
+        {
+            @Override
+            public void accept(@NonNull E event) throws Exception {
+                handle(event);
+            }
+        };
+    }
+
+    private static class PendingEvent<E>
+    {
+        final E event;
+
+        PendingEvent(E event) {
+            this.event = event;
+        }
+    }
+
+    private static class Transition<S, E>
+    {
+        final S target;
+        final BiPredicate<S, E> guard;
+        Transition<S, E> next;
+
+        Transition(S target, BiPredicate<S, E> guard) {
+            this.target = target;
+            this.guard = guard;
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package io.reactivex.properties;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.BiFunction;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+import io.reactivex.functions.Predicate;
+
+/**
+ * the ordered chains of hooks added to a {@link Property} through
+ * {@link Property#addFilter(Predicate)}, {@link Property#addOnSet(BiFunction)},
+ * {@link Property#addOnGet(Function)} and {@link Property#addOnUpdate(Consumer)}
+ * <p>
+ * every chain is compiled into a flat array every time a hook is added or removed, so running
+ * a chain is a loop over an array, without any allocation or locking, while adding and removing
+ * hooks are synchronized
+ *
+ * @param <T> the type of the values
+ */
+class Interceptors<T>
+{
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private final List<Entry> entries = new ArrayList<>();
+    private volatile Object[] filters = EMPTY;
+    private volatile Object[] onSets = EMPTY;
+    private volatile Object[] onGets = EMPTY;
+    private volatile Object[] onUpdates = EMPTY;
+
+    Disposable addFilter(Predicate<T> filter) {
+        return add(Kind.FILTER, filter);
+    }
+
+    Disposable addOnSet(BiFunction<T, T, T> onSet) {
+        return add(Kind.ON_SET, onSet);
+    }
+
+    Disposable addOnGet(Function<T, T> onGet) {
+        return add(Kind.ON_GET, onGet);
+    }
+
+    Disposable addOnUpdate(Consumer<T> onUpdate) {
+        return add(Kind.ON_UPDATE, onUpdate);
+    }
+
+    private synchronized Disposable add(Kind kind, Object hook) {
+        Entry entry = new Entry(kind, hook);
+        entries.add(entry);
+        compile(kind);
+        return entry;
+    }
+
+    private synchronized void remove(Entry entry) {
+        if (entries.remove(entry)) {
+            compile(entry.kind);
+        }
+    }
+
+    private void compile(Kind kind) {
+        List<Object> hooks = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.kind == kind) {
+                hooks.add(entry.hook);
+            }
+        }
+
+        Object[] compiled = hooks.isEmpty() ? EMPTY : hooks.toArray();
+        switch (kind) {
+            case FILTER:
+                filters = compiled;
+                break;
+            case ON_SET:
+                onSets = compiled;
+                break;
+            case ON_GET:
+                onGets = compiled;
+                break;
+            case ON_UPDATE:
+                onUpdates = compiled;
+                break;
+        }
+    }
+
+    /**
+     * @return {@code true} if all the filters accept the value, or if there are no filters
+     */
+    @SuppressWarnings("unchecked")
+    boolean test(T value) throws Exception {
+        Object[] hooks = filters;
+        for (Object hook : hooks) {
+            if (!((Predicate<T>) hook).test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the value returned by the last hook, every hook receives the value returned
+     * by the hook before it
+     */
+    @SuppressWarnings("unchecked")
+    T onSet(T oldValue, T newValue) throws Exception {
+        Object[] hooks = onSets;
+        T value = newValue;
+        for (Object hook : hooks) {
+            value = ((BiFunction<T, T, T>) hook).apply(oldValue, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    T onGet(T value) throws Exception {
+        Object[] hooks = onGets;
+        T result = value;
+        for (Object hook : hooks) {
+            result = ((Function<T, T>) hook).apply(result);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    void onUpdate(T value) throws Exception {
+        Object[] hooks = onUpdates;
+        for (Object hook : hooks) {
+            ((Consumer<T>) hook).accept(value);
+        }
+    }
+
+    private enum Kind
+    {
+        FILTER, ON_SET, ON_GET, ON_UPDATE
+    }
+
+    private class Entry implements Disposable
+    {
+        final Kind kind;
+        final Object hook;
+        volatile boolean disposed;
+
+        Entry(Kind kind, Object hook) {
+            this.kind = kind;
+            this.hook = hook;
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            remove(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+}
@@ -0,0 +1,329 @@
+package io.reactivex.properties;
+
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.ObservableOnSubscribe;
+import io.reactivex.annotations.NonNull;
+import io.reactivex.functions.Consumer;
+import io.reactivex.properties.exceptions.InvocationException;
+
+/**
+ * a property that stores it's value outside of the Java heap, in a direct {@link ByteBuffer},
+ * this is useful for large values (like cached responses) that would cause long garbage
+ * collection pauses if they were stored on the heap
+ * <p>
+ * the value is converted to and from bytes through a {@link Codec}, {@link #set(Object)} reuses
+ * the current buffer when the new value fits in it, and {@link #view()} returns a read-only view
+ * over the stored bytes without copying them
+ * <p>
+ * once a view over the buffer is handed out, by {@link #view()}, or by {@link #get()} and
+ * {@link #asObservable()} with a {@link Codec} that {@link Codec#sharesView() shares} it, the
+ * next {@link #set(Object)} allocates a new buffer, so the views are never overwritten by the
+ * values set after them
+ *
+ * @param <T> the type of the value
+ */
+public class OffHeapProperty<T> implements
+        Callable<T>,
+        Consumer<T>,
+        Clearable,
+        Emptyable
+{
+
+    private final Codec<T> codec;
+    private final EmittersGroup<T> emitters = new EmittersGroup<>();
+    private ByteBuffer buffer;
+    private boolean shared;
+    private boolean empty = true;
+
+    public OffHeapProperty(@NonNull Codec<T> codec) {
+        this.codec = codec;
+    }
+
+    public OffHeapProperty(@NonNull Codec<T> codec, T object) {
+        this(codec);
+        if (object != null) {
+            store(object);
+        }
+    }
+
+    /**
+     * encode a value and store it in the off-heap buffer, if the encoded value fits in the
+     * current buffer and no view over it was handed out, it is reused, else a new buffer is
+     * allocated
+     * <p>
+     * if the {@link Codec} fails while encoding into a new buffer, the previous value is kept,
+     * if it fails while encoding into the reused buffer, the previous value is already
+     * overwritten, and this {@link OffHeapProperty} becomes empty
+     *
+     * @param object the value to be stored, passing {@code null} releases the stored buffer
+     * @return the object passed
+     */
+    public synchronized T set(T object) {
+        if (object == null) {
+            release();
+        } else {
+            store(object);
+        }
+
+        if (!emitters.isEmpty()) {
+            notifyEmittersWithValueSet(object);
+        }
+        return object;
+    }
+
+    private void store(T object) {
+        int size = codec.sizeOf(object);
+        boolean reuse = buffer != null && !shared && buffer.capacity() >= size;
+        ByteBuffer target = reuse ? buffer : ByteBuffer.allocateDirect(size);
+
+        target.clear();
+        target.limit(size);
+        try {
+            codec.encode(object, target);
+        } catch (Throwable e) {
+            if (reuse) {
+                release();
+            }
+            throw new InvocationException("failed to encode (" + object + ")", e);
+        }
+        target.flip();
+
+        buffer = target;
+        shared = false;
+        empty = false;
+    }
+
+    private void notifyEmittersWithValueSet(T object) {
+        if (object != null) {
+            try {
+                emitters.onNext(get());
+            } catch (Throwable e) {
+                emitters.onError(e);
+            }
+        } else {
+            emitters.onError(new NullPointerException("value set to null"));
+        }
+    }
+
+    /**
+     * decode the stored value, the {@link Codec} receives a read-only view over the stored
+     * bytes, so a {@link Codec} that wraps this view (like {@link #BYTE_BUFFER}) does not copy
+     * any data, if the {@link Codec} {@link Codec#sharesView() shares} the view, the next
+     * {@link #set(Object)} writes to a new buffer
+     *
+     * @return the decoded value, or {@code null} if nothing is stored
+     */
+    public synchronized T get() {
+        if (empty) {
+            return null;
+        }
+
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        if (codec.sharesView()) {
+            shared = true;
+        }
+
+        try {
+            return codec.decode(view);
+        } catch (Throwable e) {
+            throw new InvocationException("failed to decode stored value", e);
+        }
+    }
+
+    /**
+     * get a read-only view over the stored bytes, the view shares the off-heap memory of this
+     * {@link OffHeapProperty}, so the next {@link #set(Object)} allocates a new buffer instead
+     * of overwriting the viewed one
+     *
+     * @return a read-only {@link ByteBuffer}, or {@code null} if nothing is stored
+     */
+    public synchronized ByteBuffer view() {
+        if (empty) {
+            return null;
+        }
+        shared = true;
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * get the size of the stored value in bytes
+     *
+     * @return the number of the stored bytes, or {@code 0} if nothing is stored
+     */
+    public synchronized int size() {
+        return empty ? 0 : buffer.limit();
+    }
+
+    @Override
+    public T call() {
+        return get();
+    }
+
+    @Override
+    public void accept(T object) {
+        set(object);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * release the off-heap buffer and complete the subscribers of {@link #asObservable()},
+     * the memory is returned to the system once the buffer is garbage collected, since
+     * direct buffers can not be freed explicitly on all platforms
+     */
+    @Override
+    public synchronized void clear() {
+        release();
+        emitters.onComplete();
+        emitters.clear();
+    }
+
+    private void release() {
+        buffer = null;
+        shared = false;
+        empty = true;
+    }
+
+    /**
+     * creates an {@link Observable} that emits the decoded value every time it is updated,
+     * same as {@link Property#asObservable()}
+     *
+     * @return an {@link Observable} that emits the value of this {@link OffHeapProperty}
+     */
+    public Observable<T> asObservable() {
+        return Observable.create(new ObservableOnSubscribe<T>()
+        {
+            @Override
+            public void subscribe(@NonNull ObservableEmitter<T> e) throws Exception {
+                synchronized (OffHeapProperty.this) {
+                    if (!emitters.contains(e)) {
+                        emitters.update(e);
+                        if (!empty) {
+                            e.onNext(get());
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * get the current decoded value in a {@link Maybe}
+     *
+     * @return a {@link Maybe} of the decoded value, or an empty {@link Maybe} if nothing
+     * is stored
+     */
+    public Maybe<T> asMaybe() {
+        T object = get();
+        if (object != null) {
+            return Maybe.just(object);
+        } else {
+            return Maybe.empty();
+        }
+    }
+
+    /**
+     * converts the values of an {@link OffHeapProperty} to and from bytes
+     *
+     * @param <T> the type of the values
+     */
+    public interface Codec<T>
+    {
+        /**
+         * @param object the value to be encoded
+         * @return the number of bytes needed to encode the value
+         */
+        int sizeOf(T object);
+
+        /**
+         * write the value to the buffer, the buffer has exactly {@link #sizeOf(Object)}
+         * bytes remaining
+         *
+         * @param object the value to be encoded
+         * @param buffer the off-heap buffer
+         */
+        void encode(T object, ByteBuffer buffer) throws Exception;
+
+        /**
+         * read the value from a read-only view over the stored bytes
+         *
+         * @param buffer the read-only view, positioned at the first stored byte
+         * @return the decoded value
+         */
+        T decode(ByteBuffer buffer) throws Exception;
+
+        /**
+         * @return {@code true} if the values returned by {@link #decode(ByteBuffer)} read the
+         * view passed to it (like a wrapper over it), so the stored bytes must not be
+         * overwritten while they are used, or {@code false} if they copy the bytes
+         */
+        boolean sharesView();
+    }
+
+    /**
+     * a {@link Codec} for {@link ByteBuffer} values, {@link #get()} returns the read-only
+     * view itself, without copying the stored bytes, the returned view keeps it's bytes after
+     * the values set later
+     */
+    public static final Codec<ByteBuffer> BYTE_BUFFER = new Codec<ByteBuffer>()
+    {
+        @Override
+        public int sizeOf(ByteBuffer object) {
+            return object.remaining();
+        }
+
+        @Override
+        public void encode(ByteBuffer object, ByteBuffer buffer) {
+            buffer.put(object.duplicate());
+        }
+
+        @Override
+        public ByteBuffer decode(ByteBuffer buffer) {
+            return buffer;
+        }
+
+        @Override
+        public boolean sharesView() {
+            return true;
+        }
+    };
+
+    /**
+     * a {@link Codec} for {@code byte[]} values, {@link #get()} copies the stored bytes
+     * to a new array, use {@link #view()} to read them without copying
+     */
+    public static final Codec<byte[]> BYTE_ARRAY = new Codec<byte[]>()
+    {
+        @Override
+        public int sizeOf(byte[] object) {
+            return object.length;
+        }
+
+        @Override
+        public void encode(byte[] object, ByteBuffer buffer) {
+            buffer.put(object);
+        }
+
+        @Override
+        public byte[] decode(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        @Override
+        public boolean sharesView() {
+            return false;
+        }
+    };
+
+}
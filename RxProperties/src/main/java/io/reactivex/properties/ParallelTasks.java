@@ -0,0 +1,174 @@
+package io.reactivex.properties;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import io.reactivex.functions.Function;
+import io.reactivex.functions.Predicate;
+import io.reactivex.properties.exceptions.RuntimeExceptionConverter;
+
+/**
+ * the fork-join tasks behind {@link Properties#parallelMap(Property, Function, Property)} and
+ * {@link Properties#parallelFilter(Property, Predicate, Property)}, the items are split in
+ * halves until every range is small enough to be processed on a single thread, every task
+ * writes to it's own range of a shared array, so the tasks do not synchronize with each other
+ */
+final class ParallelTasks
+{
+
+    /**
+     * the smallest range that is split between two threads, smaller ranges are cheaper
+     * to process on a single thread than to fork
+     */
+    static final int MINIMUM_RANGE = 256;
+
+    private ParallelTasks() {
+    }
+
+    /**
+     * the pool used when no {@link ForkJoinPool} is passed, it is created the first time it is
+     * used, with one thread for every available processor
+     */
+    static ForkJoinPool defaultPool() {
+        return DefaultPoolHolder.POOL;
+    }
+
+    static <V, R> List<R> map(ForkJoinPool pool, Iterable<? extends V> source,
+                              Function<? super V, ? extends R> mapper) {
+        List<? extends V> items = randomAccessListOf(source);
+        Object[] results = new Object[items.size()];
+        pool.invoke(new MapTask<>(items, mapper, results, 0, items.size(),
+                rangeOf(pool, items.size())));
+        return asList(results, results.length);
+    }
+
+    static <V> List<V> filter(ForkJoinPool pool, Iterable<? extends V> source,
+                              Predicate<? super V> predicate) {
+        List<? extends V> items = randomAccessListOf(source);
+        boolean[] accepted = new boolean[items.size()];
+        pool.invoke(new FilterTask<>(items, predicate, accepted, 0, items.size(),
+                rangeOf(pool, items.size())));
+
+        Object[] results = new Object[items.size()];
+        int size = 0;
+        for (int i = 0; i < accepted.length; i++) {
+            if (accepted[i]) {
+                results[size++] = items.get(i);
+            }
+        }
+        return asList(results, size);
+    }
+
+    private static int rangeOf(ForkJoinPool pool, int size) {
+        return Math.max(MINIMUM_RANGE, size / (pool.getParallelism() * 4));
+    }
+
+    private static <V> List<? extends V> randomAccessListOf(Iterable<? extends V> source) {
+        if (source instanceof List && source instanceof RandomAccess) {
+            return (List<? extends V>) source;
+        }
+
+        List<V> items = new ArrayList<>();
+        for (V item : source) {
+            items.add(item);
+        }
+        return items;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> List<R> asList(Object[] results, int size) {
+        return (List<R>) new ArrayList<>(Arrays.asList(results).subList(0, size));
+    }
+
+    private static class MapTask<V, R> extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends V> items;
+        private final Function<? super V, ? extends R> mapper;
+        private final Object[] results;
+        private final int start;
+        private final int end;
+        private final int range;
+
+        MapTask(List<? extends V> items, Function<? super V, ? extends R> mapper,
+                Object[] results, int start, int end, int range) {
+            this.items = items;
+            this.mapper = mapper;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+            this.range = range;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= range) {
+                try {
+                    for (int i = start; i < end; i++) {
+                        results[i] = mapper.apply(items.get(i));
+                    }
+                } catch (Throwable e) {
+                    throw new RuntimeExceptionConverter().apply(e);
+                }
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new MapTask<>(items, mapper, results, start, middle, range),
+                    new MapTask<>(items, mapper, results, middle, end, range));
+        }
+    }
+
+    private static class FilterTask<V> extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends V> items;
+        private final Predicate<? super V> predicate;
+        private final boolean[] accepted;
+        private final int start;
+        private final int end;
+        private final int range;
+
+        FilterTask(List<? extends V> items, Predicate<? super V> predicate,
+                   boolean[] accepted, int start, int end, int range) {
+            this.items = items;
+            this.predicate = predicate;
+            this.accepted = accepted;
+            this.start = start;
+            this.end = end;
+            this.range = range;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= range) {
+                try {
+                    for (int i = start; i < end; i++) {
+                        accepted[i] = predicate.test(items.get(i));
+                    }
+                } catch (Throwable e) {
+                    throw new RuntimeExceptionConverter().apply(e);
+                }
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new FilterTask<>(items, predicate, accepted, start, middle, range),
+                    new FilterTask<>(items, predicate, accepted, middle, end, range));
+        }
+    }
+
+    private static class DefaultPoolHolder
+    {
+        static final ForkJoinPool POOL =
+                new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+}
@@ -0,0 +1,294 @@
+package io.reactivex.properties;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import io.reactivex.ObservableEmitter;
+import io.reactivex.Scheduler;
+import io.reactivex.annotations.NonNull;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+import io.reactivex.functions.BiFunction;
+import io.reactivex.functions.Function;
+import io.reactivex.functions.Function3;
+import io.reactivex.functions.Function4;
+import io.reactivex.functions.Predicate;
+
+/**
+ * operations that work on multiple {@link Property} instances at once
+ */
+public final class Properties
+{
+
+    private Properties() {
+    }
+
+    /**
+     * clear all the passed {@link Property} instances, the values and hooks of every
+     * {@link Property} are cleared immediately on the calling thread, while completing their
+     * subscribers is done in a single task on the passed {@link Scheduler}, so tearing down
+     * a large number of {@link Property} instances does not run every subscriber's
+     * {@code onComplete()} on the calling thread
+     *
+     * @param properties the {@link Property} instances to clear
+     * @param scheduler  the {@link Scheduler} that will complete the subscribers
+     * @return a {@link Disposable} that cancels the completion task if it did not run yet
+     */
+    public static Disposable clearAll(@NonNull Collection<? extends Property<?>> properties,
+                                      @NonNull Scheduler scheduler) {
+        final List<ObservableEmitter<?>> pendingCompletions = new ArrayList<>();
+        for (Property<?> property : properties) {
+            property.clear(pendingCompletions);
+        }
+
+        if (pendingCompletions.isEmpty()) {
+            return Disposables.disposed();
+        }
+
+        return scheduler.scheduleDirect(new Runnable()
+        {
+            @Override
+            public void run() {
+                complete(pendingCompletions);
+            }
+        });
+    }
+
+    /**
+     * clear all the passed {@link Property} instances on the calling thread, same as invoking
+     * {@link Property#clear()} on every one of them
+     *
+     * @param properties the {@link Property} instances to clear
+     */
+    public static void clearAll(@NonNull Collection<? extends Property<?>> properties) {
+        List<ObservableEmitter<?>> pendingCompletions = new ArrayList<>();
+        for (Property<?> property : properties) {
+            property.clear(pendingCompletions);
+        }
+        complete(pendingCompletions);
+    }
+
+    private static void complete(List<ObservableEmitter<?>> emitters) {
+        for (ObservableEmitter<?> emitter : emitters) {
+            if (!emitter.isDisposed()) {
+                emitter.onComplete();
+            }
+        }
+        emitters.clear();
+    }
+
+    /**
+     * combine the latest values of multiple {@link Property} instances into a new
+     * {@link Property}, the returned {@link Property} is updated directly from the
+     * {@link Property#set(Object)} of the sources without creating any {@link io.reactivex.Observable},
+     * the combiner is invoked every time a source accepts a new value, as long as all the sources
+     * hold {@code non-null} values
+     * <p>
+     * invoking {@link Property#clear()} on the returned {@link Property} stops it from
+     * listening to the sources
+     *
+     * @param sources  the {@link Property} instances to combine
+     * @param combiner the {@link Function} that takes the latest values of the sources, in the
+     *                 same order of the sources, and returns the combined value, the passed array
+     *                 is reused between invocations, so it should not be stored
+     * @param <R>      the type of the combined value
+     * @return a {@link Property} that holds the combined value
+     */
+    public static <R> Property<R> combine(@NonNull List<? extends Property<?>> sources,
+                                          @NonNull Function<? super Object[], ? extends R> combiner) {
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("no sources to combine");
+        }
+        return new CombinedProperty<>(sources, combiner);
+    }
+
+    /**
+     * combine the latest values of two {@link Property} instances, see
+     * {@link #combine(List, Function)}
+     *
+     * @param first    the first source
+     * @param second   the second source
+     * @param combiner the {@link BiFunction} that returns the combined value
+     * @return a {@link Property} that holds the combined value
+     */
+    public static <A, B, R> Property<R> combine(@NonNull Property<A> first,
+                                                @NonNull Property<B> second,
+                                                @NonNull final BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return combine(Arrays.asList(first, second), new Function<Object[], R>()
+        {
+            @Override
+            @SuppressWarnings("unchecked")
+            public R apply(@NonNull Object[] values) throws Exception {
+                return combiner.apply((A) values[0], (B) values[1]);
+            }
+        });
+    }
+
+    /**
+     * combine the latest values of three {@link Property} instances, see
+     * {@link #combine(List, Function)}
+     *
+     * @param first    the first source
+     * @param second   the second source
+     * @param third    the third source
+     * @param combiner the {@link Function3} that returns the combined value
+     * @return a {@link Property} that holds the combined value
+     */
+    public static <A, B, C, R> Property<R> combine(@NonNull Property<A> first,
+                                                   @NonNull Property<B> second,
+                                                   @NonNull Property<C> third,
+                                                   @NonNull final Function3<? super A, ? super B, ? super C, ? extends R> combiner) {
+        return combine(Arrays.asList(first, second, third), new Function<Object[], R>()
+        {
+            @Override
+            @SuppressWarnings("unchecked")
+            public R apply(@NonNull Object[] values) throws Exception {
+                return combiner.apply((A) values[0], (B) values[1], (C) values[2]);
+            }
+        });
+    }
+
+    /**
+     * combine the latest values of four {@link Property} instances, see
+     * {@link #combine(List, Function)}
+     *
+     * @param first    the first source
+     * @param second   the second source
+     * @param third    the third source
+     * @param fourth   the fourth source
+     * @param combiner the {@link Function4} that returns the combined value
+     * @return a {@link Property} that holds the combined value
+     */
+    public static <A, B, C, D, R> Property<R> combine(@NonNull Property<A> first,
+                                                      @NonNull Property<B> second,
+                                                      @NonNull Property<C> third,
+                                                      @NonNull Property<D> fourth,
+                                                      @NonNull final Function4<? super A, ? super B, ? super C, ? super D, ? extends R> combiner) {
+        return combine(Arrays.asList(first, second, third, fourth), new Function<Object[], R>()
+        {
+            @Override
+            @SuppressWarnings("unchecked")
+            public R apply(@NonNull Object[] values) throws Exception {
+                return combiner.apply((A) values[0], (B) values[1], (C) values[2], (D) values[3]);
+            }
+        });
+    }
+
+    /**
+     * keep two {@link Property} instances in sync, every time one of them accepts a value,
+     * the value is converted and set to the other one, a value set because of the binding
+     * is not propagated back, so each change is propagated once in each direction,
+     * the binding does not create any {@link io.reactivex.Observable} between the two
+     * {@link Property} instances
+     * <p>
+     * if the first {@link Property} holds a value, it is set to the second {@link Property}
+     * immediately, the binding is meant to be used from a single thread (like the main thread)
+     *
+     * @param first    the first {@link Property}
+     * @param second   the second {@link Property}
+     * @param forward  the {@link Function} that converts the first value to the second value
+     * @param backward the {@link Function} that converts the second value to the first value
+     * @param <A>      the type of the first {@link Property}
+     * @param <B>      the type of the second {@link Property}
+     * @return a {@link Disposable} that removes the binding in O(1)
+     */
+    public static <A, B> Disposable bind(@NonNull Property<A> first,
+                                         @NonNull Property<B> second,
+                                         @NonNull Function<? super A, ? extends B> forward,
+                                         @NonNull Function<? super B, ? extends A> backward) {
+        return new PropertyBinding<>(first, second, forward, backward);
+    }
+
+    /**
+     * map every item in the {@link Iterable} value of a {@link Property} in parallel, and set
+     * the mapped items to the target {@link Property}, see
+     * {@link #parallelMap(Property, Function, Property, ForkJoinPool)}, the mapping is done on a
+     * shared {@link ForkJoinPool} with one thread for every available processor
+     */
+    public static <V, R> Property<List<R>> parallelMap(
+            @NonNull Property<? extends Iterable<? extends V>> source,
+            @NonNull Function<? super V, ? extends R> mapper,
+            @NonNull Property<List<R>> target) {
+        return parallelMap(source, mapper, target, ParallelTasks.defaultPool());
+    }
+
+    /**
+     * map every item in the {@link Iterable} value of a {@link Property} in parallel, and set
+     * the mapped items to the target {@link Property}, the items are split between the threads
+     * of the passed {@link ForkJoinPool}, and the mapped {@link List} is set to the target
+     * {@link Property} once, after all the items are mapped, so the subscribers of the target
+     * never see a partially mapped {@link List}
+     * <p>
+     * the calling thread blocks until the mapping is done, if the mapper throws an
+     * {@link Exception}, it is thrown from this method, and the target is not updated
+     *
+     * @param source the {@link Property} that holds the items to map
+     * @param mapper the {@link Function} that maps every item, it is invoked from multiple
+     *               threads at the same time
+     * @param target the {@link Property} that will hold the mapped items, in the same order
+     *               of the source items
+     * @param pool   the {@link ForkJoinPool} that runs the mapper
+     * @return the target {@link Property}
+     * @throws NullPointerException if the source {@link Property} holds no value
+     */
+    public static <V, R> Property<List<R>> parallelMap(
+            @NonNull Property<? extends Iterable<? extends V>> source,
+            @NonNull Function<? super V, ? extends R> mapper,
+            @NonNull Property<List<R>> target,
+            @NonNull ForkJoinPool pool) {
+        Iterable<? extends V> items = source.get();
+        if (items == null) {
+            throw new NullPointerException("null value");
+        }
+        target.set(ParallelTasks.<V, R>map(pool, items, mapper));
+        return target;
+    }
+
+    /**
+     * filter the items in the {@link Iterable} value of a {@link Property} in parallel, and
+     * set the accepted items to the target {@link Property}, see
+     * {@link #parallelFilter(Property, Predicate, Property, ForkJoinPool)}, the filtering is done
+     * on a shared {@link ForkJoinPool} with one thread for every available processor
+     */
+    public static <V> Property<List<V>> parallelFilter(
+            @NonNull Property<? extends Iterable<? extends V>> source,
+            @NonNull Predicate<? super V> predicate,
+            @NonNull Property<List<V>> target) {
+        return parallelFilter(source, predicate, target, ParallelTasks.defaultPool());
+    }
+
+    /**
+     * filter the items in the {@link Iterable} value of a {@link Property} in parallel, and
+     * set the accepted items to the target {@link Property}, the items are tested on the threads
+     * of the passed {@link ForkJoinPool}, and the accepted items are set to the target
+     * {@link Property} once, in the same order of the source items
+     * <p>
+     * the calling thread blocks until the filtering is done, if the {@link Predicate} throws an
+     * {@link Exception}, it is thrown from this method, and the target is not updated
+     *
+     * @param source    the {@link Property} that holds the items to filter
+     * @param predicate the {@link Predicate} that tests every item, it is invoked from multiple
+     *                  threads at the same time
+     * @param target    the {@link Property} that will hold the accepted items
+     * @param pool      the {@link ForkJoinPool} that runs the {@link Predicate}
+     * @return the target {@link Property}
+     * @throws NullPointerException if the source {@link Property} holds no value
+     */
+    public static <V> Property<List<V>> parallelFilter(
+            @NonNull Property<? extends Iterable<? extends V>> source,
+            @NonNull Predicate<? super V> predicate,
+            @NonNull Property<List<V>> target,
+            @NonNull ForkJoinPool pool) {
+        Iterable<? extends V> items = source.get();
+        if (items == null) {
+            throw new NullPointerException("null value");
+        }
+        target.set(ParallelTasks.<V>filter(pool, items, predicate));
+        return target;
+    }
+
+}
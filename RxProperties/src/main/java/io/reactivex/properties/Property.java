@@ -1,15 +1,29 @@
 package io.reactivex.properties;
 
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
 import io.reactivex.ObservableOnSubscribe;
+import io.reactivex.ObservableSource;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+import io.reactivex.SingleOnSubscribe;
 import io.reactivex.annotations.NonNull;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.BiFunction;
+import io.reactivex.functions.Cancellable;
 import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
 import io.reactivex.functions.Predicate;
@@ -29,8 +43,12 @@ public class Property<T> implements
         Emptyable
 {
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Property, Object> OBJECT =
+            AtomicReferenceFieldUpdater.newUpdater(Property.class, Object.class, "object");
 
-    T object;
+    volatile T object;
+    private volatile long version;
     private Class<?> type;
     private Predicate<T> filter;
     private BiFunction<T, T, T> onSet;
@@ -38,7 +56,8 @@ public class Property<T> implements
     private Consumer<T> onUpdate;
     private Consumer<T> onClear;
     private Function<T, T> onConsumerAccept;
-    private final EmittersGroup<T> emitters = new EmittersGroup<>();
+    private volatile EmittersGroup<T> emitters;
+    private volatile PropertyExtensions<T> extensions;
 
 
     public Property() {
@@ -59,65 +78,266 @@ public class Property<T> implements
      */
     public T set(T object) {
 
+        Tracing.Tracer tracer = Tracing.getTracer();
+        long start = tracer != null ? System.nanoTime() : 0L;
+
+        boolean accepted;
         try {
-            doSet(object);
+            accepted = doSet(object, tracer);
         } catch (Throwable e) {
             throw new InvocationException("failed to execute set(" + object + ")", e);
         }
 
-        if (onUpdate != null) {
-            doUpdate(object);
+        if (accepted) {
+            // only the thread that stored the value bumps the version, a plain volatile
+            // write is enough as set() as a whole is not atomic anyway
+            version = version + 1;
+            notifyWaiters(this.object);
         }
 
-        if (!emitters.isEmpty()) {
-            notifyEmittersWithValueSet(object);
+        PropertyExtensions<T> ext = extensions;
+        RateLimiter<T> limiter = ext != null ? ext.rateLimiter : null;
+        if (limiter != null) {
+            limiter.onSet(object, accepted);
+        } else {
+            deliver(object, accepted, tracer);
         }
 
+        if (tracer != null) {
+            tracer.onPropertySet(this, System.nanoTime() - start);
+        }
         return object;
     }
 
+    /**
+     * set an Object as the value of this property asynchronously, the value is passed with the
+     * current value to the {@link BiFunction} set through {@link #onSetAsync(BiFunction)}, and
+     * the value emitted by it's {@link Single} is passed to {@link #set(Object)}
+     * <p>
+     * if this method is invoked again before the previous {@link Single} emits, the previous
+     * {@link Single} is disposed, and only the most recent value is set, the {@link Single}
+     * returned for the previous invocation emits a
+     * {@link java.util.concurrent.CancellationException}, the same happens when
+     * {@link #clear()} is invoked
+     *
+     * @param object the object to be stored, it should not be {@code null}, use
+     *               {@link #set(Object)} or {@link #clear()} to remove the stored value
+     * @return a {@link Single} that emits the value passed to {@link #set(Object)}, the set
+     * starts immediately, without waiting for a subscriber
+     */
+    public Single<T> setAsync(T object) {
+        if (object == null) {
+            return Single.error(new NullPointerException("setAsync(null) is not supported"));
+        }
 
-    private void doSet(T object) throws Exception {
-        if (filter != null) {
-            if (filter.test(object)) {
-                setValue(object);
+        PropertyExtensions<T> ext = extensions();
+        Single<T> source;
+        try {
+            source = ext.onSetAsync != null
+                    ? ext.onSetAsync.apply(this.object, object)
+                    : Single.just(object);
+        } catch (Throwable e) {
+            source = Single.error(e);
+        }
+        return asyncSetter(ext).set(source);
+    }
+
+    private AsyncSetter<T> asyncSetter(PropertyExtensions<T> ext) {
+        AsyncSetter<T> setter = ext.asyncSetter;
+        if (setter == null) {
+            synchronized (this) {
+                setter = ext.asyncSetter;
+                if (setter == null) {
+                    setter = new AsyncSetter<>(this);
+                    ext.asyncSetter = setter;
+                }
             }
-        } else {
-            setValue(object);
         }
+        return setter;
     }
 
-    private void setValue(T object) throws Exception {
+    private PropertyExtensions<T> extensions() {
+        PropertyExtensions<T> ext = extensions;
+        if (ext == null) {
+            synchronized (this) {
+                ext = extensions;
+                if (ext == null) {
+                    ext = new PropertyExtensions<>();
+                    extensions = ext;
+                }
+            }
+        }
+        return ext;
+    }
 
-        if (onSet != null) {
-            this.object = onSet.apply(this.object, object);
+    private EmittersGroup<T> emitters() {
+        EmittersGroup<T> group = emitters;
+        if (group == null) {
+            synchronized (this) {
+                group = emitters;
+                if (group == null) {
+                    group = new EmittersGroup<>();
+                    emitters = group;
+                }
+            }
+        }
+        return group;
+    }
+
+    private Interceptors<T> currentInterceptors() {
+        PropertyExtensions<T> ext = extensions;
+        return ext != null ? ext.interceptors : null;
+    }
+
+    private void deliver(T object, boolean accepted, Tracing.Tracer tracer) {
+        T stored = this.object;
+        PropertyExtensions<T> ext = extensions;
+        if (onUpdate != null || (ext != null && ext.interceptors != null)) {
+            doUpdate(object, tracer);
+        }
+
+        EmittersGroup<T> group = emitters;
+        ReplayBuffer<T> buffer = ext != null ? ext.replayBuffer : null;
+        if ((group != null && !group.isEmpty()) || buffer != null) {
+            long start = tracer != null ? System.nanoTime() : 0L;
+            notifyEmittersWithValueSet(group, buffer, object, accepted);
+            if (tracer != null) {
+                tracer.onEmitterFanOut(this, group != null ? group.size() : 0,
+                        System.nanoTime() - start);
+            }
+        }
+
+        if (accepted) {
+            onAccepted(stored);
+        }
+    }
+
+
+    private boolean doSet(T object, Tracing.Tracer tracer) throws Exception {
+        Interceptors<T> chain = currentInterceptors();
+        if (tracer == null || (filter == null && onSet == null && chain == null)) {
+            return doSet(object, chain);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return doSet(object, chain);
+        } finally {
+            tracer.onHookInvocation(this, "onSet", System.nanoTime() - start);
+        }
+    }
+
+    private boolean doSet(T object, Interceptors<T> chain) throws Exception {
+        if (filter != null && !filter.test(object)) {
+            return false;
+        } else if (chain != null && !chain.test(object)) {
+            return false;
         } else {
-            this.object = object;
+            setValue(object, chain);
+            return true;
+        }
+    }
+
+    private void setValue(T object, Interceptors<T> chain) throws Exception {
+
+        T value = onSet != null ? onSet.apply(this.object, object) : object;
+        if (chain != null) {
+            value = chain.onSet(this.object, value);
         }
+        this.object = value;
 
         if (this.object != null) {
             type = this.object.getClass();
         }
     }
 
-    private void doUpdate(T object) {
+    /**
+     * invoked by {@link #set(Object)} every time a value is accepted, after the value is stored
+     * and the subscribers of {@link #asObservable()} are notified
+     *
+     * @param value the stored value
+     */
+    void onAccepted(T value) {
+        PropertyExtensions<T> ext = extensions;
+        SetListeners<T> listeners = ext != null ? ext.setListeners : null;
+        if (listeners != null) {
+            listeners.notify(value);
+        }
+    }
+
+    private void doUpdate(T object, Tracing.Tracer tracer) {
+        long start = tracer != null ? System.nanoTime() : 0L;
         try {
-            onUpdate.accept(this.object);
+            Consumer<T> update = onUpdate;
+            Interceptors<T> chain = currentInterceptors();
+            if (update != null) {
+                update.accept(this.object);
+            }
+            if (chain != null) {
+                chain.onUpdate(this.object);
+            }
         } catch (Throwable e) {
             throw new InvocationException("failed to execute onUpdate() inside filter("
                     + object + ") ", e);
+        } finally {
+            if (tracer != null) {
+                tracer.onHookInvocation(this, "onUpdate", System.nanoTime() - start);
+            }
         }
     }
 
-    private void notifyEmittersWithValueSet(T object) {
+    private void notifyEmittersWithValueSet(EmittersGroup<T> group, ReplayBuffer<T> buffer,
+                                            T object, boolean accepted) {
         if (object != null) {
             try {
-                emitters.onNext(get());
+                T value = get();
+                if (buffer != null && accepted) {
+                    buffer.add(value);
+                }
+                if (group != null) {
+                    group.onNext(value);
+                }
             } catch (Throwable e) {
-                emitters.onError(e);
+                onError(e);
             }
         } else {
-            emitters.onError(new NullPointerException("value set to null"));
+            if (buffer != null) {
+                buffer.clear();
+            }
+            onError(new NullPointerException("value set to null"));
+        }
+    }
+
+    /**
+     * pass an error to the subscribers of this {@link Property} according to it's
+     * {@link ErrorPolicy}
+     *
+     * @param error the error
+     */
+    void onError(Throwable error) {
+        PropertyExtensions<T> ext = extensions;
+        if (ext == null || ext.errorPolicy == ErrorPolicy.PROPAGATE) {
+            EmittersGroup<T> group = emitters;
+            if (group != null) {
+                group.onError(error);
+            }
+            return;
+        }
+
+        boolean delivered = false;
+        List<ObservableEmitter<Throwable>> currentEmitters = ext.errorEmitters;
+        if (currentEmitters != null) {
+            for (ObservableEmitter<Throwable> emitter : currentEmitters) {
+                if (!emitter.isDisposed()) {
+                    emitter.onNext(error);
+                    delivered = true;
+                }
+            }
+        }
+        if (!delivered) {
+            synchronized (this) {
+                ext.undeliveredError = error;
+            }
         }
     }
 
@@ -128,19 +348,189 @@ public class Property<T> implements
      * @return the value if stored, or {@code null} if nothing is stored
      */
     public T get() {
-        if (onGet != null) {
-            return invokeOnGet();
+        return applyOnGet(object);
+    }
+
+    /**
+     * apply the {@link Function} passed to {@link #onGet(Function)} (if any) on a value
+     *
+     * @param value the value to be passed to the {@link #onGet(Function)} {@link Function}
+     * @return the value returned by the {@link #onGet(Function)} {@link Function}, or the
+     * same value if no {@link Function} was set
+     */
+    T applyOnGet(T value) {
+        if (onGet != null || currentInterceptors() != null) {
+            return invokeOnGet(value);
         } else {
-            return object;
+            return value;
         }
     }
 
-    private T invokeOnGet() {
+    private T invokeOnGet(T value) {
+        Tracing.Tracer tracer = Tracing.getTracer();
+        long start = tracer != null ? System.nanoTime() : 0L;
         try {
-            return onGet.apply(object);
+            Function<T, T> get = onGet;
+            Interceptors<T> chain = currentInterceptors();
+            T result = get != null ? get.apply(value) : value;
+            return chain != null ? chain.onGet(result) : result;
         } catch (Throwable e) {
             throw new RuntimeExceptionConverter().apply(e);
+        } finally {
+            if (tracer != null) {
+                tracer.onHookInvocation(this, "onGet", System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * atomically take the stored value and reset it to {@code null}, so that concurrent
+     * callers can never take the same value twice
+     *
+     * @return the stored value, or {@code null} if nothing is stored
+     */
+    @SuppressWarnings("unchecked")
+    T getAndClear() {
+        return (T) OBJECT.getAndSet(this, null);
+    }
+
+    /**
+     * atomically store a value only if the stored value is {@code null}, this does not invoke
+     * any of the hooks of {@link #set(Object)}
+     *
+     * @param value the value to store
+     * @return {@code true} if the value was stored, or {@code false} if another value
+     * was already stored
+     */
+    boolean setIfEmpty(T value) {
+        return OBJECT.compareAndSet(this, null, value);
+    }
+
+    /**
+     * get the version of the value stored in this {@link Property}, the version starts at
+     * {@code 0} and is increased every time {@link #set(Object)} accepts a value, or
+     * {@link #clear()} is invoked
+     *
+     * @return the current version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * check if the value stored in this {@link Property} changed after a version was taken,
+     * this is cheaper than subscribing or comparing values with {@code equals()}
+     *
+     * @param version a version returned by {@link #version()} or {@link Stamped#version()}
+     * @return {@code true} if the value changed since this version, else {@code false}
+     */
+    public boolean changedSince(long version) {
+        return this.version != version;
+    }
+
+    /**
+     * get the current value with it's version, the value and the version are read
+     * optimistically without locking, and the read is retried if a value was accepted in
+     * between, if a value is being set at the same time, the returned version may be older
+     * than the returned value, so the next {@link #changedSince(long)} reports a change
+     * and the value is read again, but a value is never returned with a newer version
+     * <p>
+     * the returned value is passed to the {@link Function} set in {@link #onGet(Function)}
+     *
+     * @return a {@link Stamped} holding the value, or {@code null} value if nothing is stored
+     */
+    public Stamped<T> getStamped() {
+        long stamp;
+        T value;
+        do {
+            stamp = version;
+            value = object;
+        } while (stamp != version);
+        return new Stamped<>(applyOnGet(value), stamp);
+    }
+
+    /**
+     * block the calling thread until the value stored in this {@link Property} changes after
+     * a version, the waiting thread is parked, and it is woken up directly from
+     * {@link #set(Object)} or {@link #clear()}, without any polling
+     *
+     * @param version a version returned by {@link #version()} or {@link Stamped#version()}
+     * @param timeout the maximum time to wait
+     * @param unit    the {@link TimeUnit} of the timeout
+     * @return {@code true} if the value changed, or {@code false} if the timeout passed first
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean awaitChange(long version, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (changedSince(version)) {
+            return true;
         }
+
+        final Thread waitingThread = Thread.currentThread();
+        Disposable waiter = addWaiter(new SetListeners.Listener<T>()
+        {
+            @Override
+            public void onSet(T value) {
+                LockSupport.unpark(waitingThread);
+            }
+        });
+
+        try {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!changedSince(version)) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            return true;
+        } finally {
+            waiter.dispose();
+        }
+    }
+
+    /**
+     * creates a {@link Single} that emits the next value accepted by {@link #set(Object)} after
+     * subscribing to it, the value is passed to the {@link Single} directly from
+     * {@link #set(Object)}, without invoking {@link #get()}
+     *
+     * @return a {@link Single} that emits the next value, or emits a {@link NullPointerException}
+     * if the next value is {@code null} or if {@link #clear()} is invoked first
+     */
+    public Single<T> nextChange() {
+        return Single.create(new SingleOnSubscribe<T>()
+        {
+            @Override
+            public void subscribe(@NonNull final SingleEmitter<T> e) throws Exception {
+                final AtomicReference<Disposable> waiter = new AtomicReference<>();
+                waiter.set(addWaiter(new SetListeners.Listener<T>()
+                {
+                    @Override
+                    public void onSet(T value) {
+                        if (waiter.get() != null) {
+                            waiter.get().dispose();
+                        }
+                        if (value != null) {
+                            e.onSuccess(value);
+                        } else {
+                            e.onError(new NullPointerException("value set to null"));
+                        }
+                    }
+                }));
+                e.setCancellable(new Cancellable()
+                {
+                    @Override
+                    public void cancel() throws Exception {
+                        waiter.get().dispose();
+                    }
+                });
+            }
+        });
     }
 
     /**
@@ -173,6 +563,68 @@ public class Property<T> implements
         return (S) this;
     }
 
+    /**
+     * get the Object referenced as the value of this property asynchronously, the value is
+     * passed to the {@link Function} set through {@link #onGetAsync(Function)}, and it's
+     * {@link Single} is returned as a {@link Maybe}, if no {@link Function} was set, this
+     * method is the same as {@link #asMaybe()}
+     *
+     * @return a {@link Maybe} that emits the value returned by the {@link #onGetAsync(Function)}
+     * {@link Single}, or an empty {@link Maybe} if nothing is stored
+     */
+    public Maybe<T> getAsync() {
+        T value = object;
+        PropertyExtensions<T> ext = extensions;
+        Function<T, Single<T>> getAsync = ext != null ? ext.onGetAsync : null;
+        if (value == null) {
+            return Maybe.empty();
+        } else if (getAsync == null) {
+            return asMaybe();
+        }
+
+        try {
+            return getAsync.apply(value).toMaybe();
+        } catch (Throwable e) {
+            return Maybe.error(e);
+        }
+    }
+
+    /**
+     * set a {@link BiFunction} that will be executed when {@link #setAsync(Object)} method is
+     * invoked, it receives the old value and the new value, and returns a {@link Single} of
+     * the final value, this is useful for validations that need I/O, since the thread that
+     * invokes {@link #setAsync(Object)} is not blocked
+     * <p>
+     * the final value is passed to {@link #set(Object)}, so {@link #filter(Predicate)} and
+     * {@link #onSet(BiFunction)} are still applied on it
+     *
+     * @param onSetAsync the {@link BiFunction} that will be executed every time
+     *                   {@link #setAsync(Object)} is invoked
+     * @param <S>        the sub-class of this {@link Property}
+     * @return the sub-class of this {@link Property} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends Property<T>> S onSetAsync(BiFunction<T, T, Single<T>> onSetAsync) {
+        extensions().onSetAsync = onSetAsync;
+        return (S) this;
+    }
+
+    /**
+     * set a {@link Function} that will be executed when {@link #getAsync()} method is invoked,
+     * it receives the stored value and returns a {@link Single} of the value to be returned,
+     * like decrypting the stored value on a background thread
+     *
+     * @param onGetAsync the {@link Function} that will be executed every time
+     *                   {@link #getAsync()} is invoked with a stored value
+     * @param <S>        the sub-class of this {@link Property}
+     * @return the sub-class of this {@link Property} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends Property<T>> S onGetAsync(Function<T, Single<T>> onGetAsync) {
+        extensions().onGetAsync = onGetAsync;
+        return (S) this;
+    }
+
     /**
      * set a {@link Predicate} that will be executed when {@link #set(Object)} method is invoked to
      * filter it, it wont update the current value if it returned {@code false}
@@ -226,6 +678,278 @@ public class Property<T> implements
         return (S) this;
     }
 
+    /**
+     * notify {@link #onUpdate(Consumer)} and the subscribers of {@link #asObservable()} with
+     * the last value set, only after no value was set for the passed time span, the values are
+     * still stored immediately, so {@link #get()} and {@link #version()} are not delayed
+     * <p>
+     * all the subscribers share a single timer on the passed {@link Scheduler}, instead of
+     * invoking {@link Observable#debounce(long, TimeUnit, Scheduler)} on every subscriber,
+     * the notifications are done on the {@link Scheduler} thread
+     *
+     * @param timeout   the time span that should pass without setting a value
+     * @param unit      the {@link TimeUnit} of the time span
+     * @param scheduler the {@link Scheduler} that runs the timer
+     * @param <S>       the sub-class of this {@link Property}
+     * @return the sub-class of this {@link Property} to be used for chaining
+     */
+    public <S extends Property<T>> S debounce(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return rateLimit(RateLimiter.Mode.DEBOUNCE, timeout, unit, scheduler);
+    }
+
+    /**
+     * notify {@link #onUpdate(Consumer)} and the subscribers of {@link #asObservable()} with
+     * the first value set, then ignore the notifications of the values set in the passed time
+     * span, same as {@link #debounce(long, TimeUnit, Scheduler)}, the values are still stored
+     * immediately
+     *
+     * @param windowDuration the time span that follows every notification
+     * @param unit           the {@link TimeUnit} of the time span
+     * @param scheduler      the {@link Scheduler} that runs the timer
+     * @param <S>            the sub-class of this {@link Property}
+     * @return the sub-class of this {@link Property} to be used for chaining
+     */
+    public <S extends Property<T>> S throttleFirst(long windowDuration, TimeUnit unit,
+                                                   Scheduler scheduler) {
+        return rateLimit(RateLimiter.Mode.THROTTLE_FIRST, windowDuration, unit, scheduler);
+    }
+
+    /**
+     * notify {@link #onUpdate(Consumer)} and the subscribers of {@link #asObservable()} with
+     * the first value set, then with the last value set in the passed time span once it ends,
+     * so the last value is never lost
+     *
+     * @param windowDuration the time span that follows every notification
+     * @param unit           the {@link TimeUnit} of the time span
+     * @param scheduler      the {@link Scheduler} that runs the timer
+     * @param <S>            the sub-class of this {@link Property}
+     * @return the sub-class of this {@link Property} to be used for chaining
+     */
+    public <S extends Property<T>> S throttleLatest(long windowDuration, TimeUnit unit,
+                                                    Scheduler scheduler) {
+        return rateLimit(RateLimiter.Mode.THROTTLE_LATEST, windowDuration, unit, scheduler);
+    }
+
+    /**
+     * notify {@link #onUpdate(Consumer)} and the subscribers of {@link #asObservable()} with
+     * the last value set in every period, the timer starts with the first value set after
+     * the previous period, so an idle {@link Property} does not schedule any task
+     *
+     * @param period    the sampling period
+     * @param unit      the {@link TimeUnit} of the period
+     * @param scheduler the {@link Scheduler} that runs the timer
+     * @param <S>       the sub-class of this {@link Property}
+     * @return the sub-class of this {@link Property} to be used for chaining
+     */
+    public <S extends Property<T>> S sample(long period, TimeUnit unit, Scheduler scheduler) {
+        return rateLimit(RateLimiter.Mode.SAMPLE, period, unit, scheduler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S extends Property<T>> S rateLimit(RateLimiter.Mode mode, long time, TimeUnit unit,
+                                                Scheduler scheduler) {
+        RateLimiter<T> limiter = new RateLimiter<>(mode, time, unit, scheduler,
+                new RateLimiter.Target<T>()
+                {
+                    @Override
+                    public void deliver(T object, boolean accepted) {
+                        Property.this.deliver(object, accepted, Tracing.getTracer());
+                    }
+                });
+
+        PropertyExtensions<T> ext = extensions();
+        RateLimiter<T> oldLimiter = ext.rateLimiter;
+        ext.rateLimiter = limiter;
+        if (oldLimiter != null) {
+            oldLimiter.dispose();
+        }
+        return (S) this;
+    }
+
+    /**
+     * add a {@link Predicate} to the chain of filters of this {@link Property}, unlike
+     * {@link #filter(Predicate)}, adding a filter does not replace the previous ones, a value
+     * is accepted only if the {@link #filter(Predicate)} and all the added filters accept it,
+     * the filters are invoked in the same order they were added
+     * <p>
+     * the chain is compiled into an array when a hook is added or removed, so invoking
+     * {@link #set(Object)} does not allocate anything for the chain
+     *
+     * @param filter the {@link Predicate} to add
+     * @return a {@link Disposable} that removes the filter from the chain
+     */
+    public Disposable addFilter(Predicate<T> filter) {
+        return interceptors().addFilter(filter);
+    }
+
+    /**
+     * add a {@link BiFunction} to the chain of {@link #onSet(BiFunction)} hooks, every hook in
+     * the chain receives the old value and the value returned by the hook before it, the first
+     * hook receives the value returned by {@link #onSet(BiFunction)} (if any), see
+     * {@link #addFilter(Predicate)}
+     *
+     * @param onSet the {@link BiFunction} to add
+     * @return a {@link Disposable} that removes the hook from the chain
+     */
+    public Disposable addOnSet(BiFunction<T, T, T> onSet) {
+        return interceptors().addOnSet(onSet);
+    }
+
+    /**
+     * add a {@link Function} to the chain of {@link #onGet(Function)} hooks, every hook in
+     * the chain receives the value returned by the hook before it, the first hook receives the
+     * value returned by {@link #onGet(Function)} (if any), see {@link #addFilter(Predicate)}
+     *
+     * @param onGet the {@link Function} to add
+     * @return a {@link Disposable} that removes the hook from the chain
+     */
+    public Disposable addOnGet(Function<T, T> onGet) {
+        return interceptors().addOnGet(onGet);
+    }
+
+    /**
+     * add a {@link Consumer} to the chain of {@link #onUpdate(Consumer)} hooks, the hooks in
+     * the chain are invoked after {@link #onUpdate(Consumer)} (if any), see
+     * {@link #addFilter(Predicate)}
+     *
+     * @param onUpdate the {@link Consumer} to add
+     * @return a {@link Disposable} that removes the hook from the chain
+     */
+    public Disposable addOnUpdate(Consumer<T> onUpdate) {
+        return interceptors().addOnUpdate(onUpdate);
+    }
+
+    private Interceptors<T> interceptors() {
+        PropertyExtensions<T> ext = extensions();
+        Interceptors<T> chain = ext.interceptors;
+        if (chain == null) {
+            synchronized (this) {
+                chain = ext.interceptors;
+                if (chain == null) {
+                    chain = new Interceptors<>();
+                    ext.interceptors = chain;
+                }
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * time the delivery of every value to every subscriber of {@link #asObservable()}, and
+     * notify the passed {@link SlowSubscriberListener} with every delivery that takes longer
+     * than the passed budget
+     *
+     * @param budget   the maximum time a subscriber should take to receive a value
+     * @param unit     the {@link TimeUnit} of the budget
+     * @param listener the {@link SlowSubscriberListener} to notify
+     * @param <S>      the sub-class of this {@link Property}
+     * @return the sub-class of this {@link Property} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends Property<T>> S onSlowSubscriber(long budget, TimeUnit unit,
+                                                      SlowSubscriberListener listener) {
+        emitters().slowSubscribers(new SlowSubscribers(this, budget, unit, listener, null, 0));
+        return (S) this;
+    }
+
+    /**
+     * same as {@link #onSlowSubscriber(long, TimeUnit, SlowSubscriberListener)}, but a
+     * subscriber that exceeds the budget is moved to it's own asynchronous lane, so it does not
+     * delay the thread that invokes {@link #set(Object)} or the other subscribers any more,
+     * the values waiting in the lane are kept in a bounded queue, when the queue is full,
+     * the oldest value is dropped
+     *
+     * @param budget        the maximum time a subscriber should take to receive a value
+     * @param unit          the {@link TimeUnit} of the budget
+     * @param listener      the {@link SlowSubscriberListener} to notify, or {@code null}
+     * @param scheduler     the {@link Scheduler} that emits the values to the slow subscribers
+     * @param queueCapacity the maximum number of values waiting for every slow subscriber
+     * @param <S>           the sub-class of this {@link Property}
+     * @return the sub-class of this {@link Property} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends Property<T>> S isolateSlowSubscribers(long budget, TimeUnit unit,
+                                                            SlowSubscriberListener listener,
+                                                            Scheduler scheduler,
+                                                            int queueCapacity) {
+        emitters().slowSubscribers(new SlowSubscribers(this, budget, unit, listener,
+                scheduler, queueCapacity));
+        return (S) this;
+    }
+
+    /**
+     * set where the errors of this {@link Property} go, with {@link ErrorPolicy#SIDE_CHANNEL},
+     * setting {@code null} or a failing {@link #onGet(Function)} does not end the subscriptions
+     * of {@link #asObservable()}, so the subscribers do not have to subscribe again, and the
+     * errors are emitted by {@link #errors()} instead
+     * <p>
+     * an error that happens while subscribing to {@link #asObservable()}, like a failing
+     * {@link #onGet(Function)} while emitting the current value, still ends that subscription,
+     * since it never started
+     *
+     * @param errorPolicy the {@link ErrorPolicy}, the default is {@link ErrorPolicy#PROPAGATE}
+     * @param <S>         the sub-class of this {@link Property}
+     * @return the sub-class of this {@link Property} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends Property<T>> S errorPolicy(@NonNull ErrorPolicy errorPolicy) {
+        extensions().errorPolicy = errorPolicy;
+        return (S) this;
+    }
+
+    /**
+     * creates an {@link Observable} that emits the errors of this {@link Property} when it's
+     * {@link ErrorPolicy} is {@link ErrorPolicy#SIDE_CHANNEL}, the errors are emitted as
+     * values, so the {@link Observable} stays active until {@link #clear()} is invoked
+     * <p>
+     * if an error happens while there are no subscribers, only the most recent one is kept,
+     * and it is emitted to the next subscriber
+     *
+     * @return an {@link Observable} of the errors of this {@link Property}
+     */
+    public Observable<Throwable> errors() {
+        return Observable.create(new ObservableOnSubscribe<Throwable>()
+        {
+            @Override
+            public void subscribe(@NonNull ObservableEmitter<Throwable> e) throws Exception {
+                final PropertyExtensions<T> ext = extensions();
+                final List<ObservableEmitter<Throwable>> currentEmitters = errorEmitters(ext);
+                final ObservableEmitter<Throwable> emitter = e.serialize();
+                emitter.setCancellable(new Cancellable()
+                {
+                    @Override
+                    public void cancel() throws Exception {
+                        currentEmitters.remove(emitter);
+                    }
+                });
+                currentEmitters.add(emitter);
+
+                Throwable error;
+                synchronized (Property.this) {
+                    error = ext.undeliveredError;
+                    ext.undeliveredError = null;
+                }
+                if (error != null) {
+                    emitter.onNext(error);
+                }
+            }
+        });
+    }
+
+    private List<ObservableEmitter<Throwable>> errorEmitters(PropertyExtensions<T> ext) {
+        List<ObservableEmitter<Throwable>> currentEmitters = ext.errorEmitters;
+        if (currentEmitters == null) {
+            synchronized (this) {
+                currentEmitters = ext.errorEmitters;
+                if (currentEmitters == null) {
+                    currentEmitters = new CopyOnWriteArrayList<>();
+                    ext.errorEmitters = currentEmitters;
+                }
+            }
+        }
+        return currentEmitters;
+    }
+
     /**
      * set a {@link Consumer} that will be executed when {@link #clear()} method is invoked
      *
@@ -290,15 +1014,130 @@ public class Property<T> implements
 
     @Override
     public void clear() {
+        clearValue();
+        EmittersGroup<T> group = emitters;
+        if (group != null) {
+            group.onComplete();
+            group.clear();
+        }
+        PropertyExtensions<T> ext = extensions;
+        List<ObservableEmitter<Throwable>> currentErrorEmitters =
+                ext != null ? ext.errorEmitters : null;
+        if (currentErrorEmitters != null) {
+            for (ObservableEmitter<Throwable> emitter : currentErrorEmitters) {
+                if (!emitter.isDisposed()) {
+                    emitter.onComplete();
+                }
+            }
+            currentErrorEmitters.clear();
+        }
+    }
+
+    /**
+     * clear this {@link Property} without completing it's subscribers, the subscribers that
+     * are still active are moved to the passed {@link List} so they can be completed later
+     *
+     * @param pendingCompletions the {@link List} that will hold the active subscribers
+     */
+    void clear(List<ObservableEmitter<?>> pendingCompletions) {
+        clearValue();
+        EmittersGroup<T> group = emitters;
+        if (group != null) {
+            group.moveTo(pendingCompletions);
+        }
+        PropertyExtensions<T> ext = extensions;
+        List<ObservableEmitter<Throwable>> currentErrorEmitters =
+                ext != null ? ext.errorEmitters : null;
+        if (currentErrorEmitters != null) {
+            for (ObservableEmitter<Throwable> emitter : currentErrorEmitters) {
+                if (!emitter.isDisposed()) {
+                    pendingCompletions.add(emitter);
+                }
+            }
+            currentErrorEmitters.clear();
+        }
+    }
+
+    private void clearValue() {
         if (onClear != null) {
             invokeOnClear();
         }
         object = null;
+        version = version + 1;
+        notifyWaiters(null);
         filter = null;
         onGet = null;
         onUpdate = null;
-        emitters.onComplete();
-        emitters.clear();
+        EmittersGroup<T> group = emitters;
+        if (group != null) {
+            group.slowSubscribers(null);
+        }
+        PropertyExtensions<T> ext = extensions;
+        if (ext != null) {
+            clearExtensions(ext);
+        }
+    }
+
+    private void clearExtensions(PropertyExtensions<T> ext) {
+        if (ext.rateLimiter != null) {
+            ext.rateLimiter.dispose();
+            ext.rateLimiter = null;
+        }
+        ext.onSetAsync = null;
+        ext.onGetAsync = null;
+        ext.interceptors = null;
+        ext.replayBuffer = null;
+        synchronized (this) {
+            ext.undeliveredError = null;
+        }
+        if (ext.asyncSetter != null) {
+            ext.asyncSetter.cancel();
+        }
+    }
+
+    /**
+     * add a listener that is invoked directly from {@link #set(Object)} every time a value
+     * is accepted, the listener receives the stored value, without invoking {@link #get()}
+     *
+     * @param listener the listener to add
+     * @return a {@link Disposable} that removes the listener in O(1)
+     */
+    Disposable addSetListener(SetListeners.Listener<T> listener) {
+        PropertyExtensions<T> ext = extensions();
+        SetListeners<T> listeners = ext.setListeners;
+        if (listeners == null) {
+            synchronized (this) {
+                listeners = ext.setListeners;
+                if (listeners == null) {
+                    listeners = new SetListeners<>();
+                    ext.setListeners = listeners;
+                }
+            }
+        }
+        return listeners.add(listener);
+    }
+
+    private Disposable addWaiter(SetListeners.Listener<T> waiter) {
+        PropertyExtensions<T> ext = extensions();
+        SetListeners<T> currentWaiters = ext.waiters;
+        if (currentWaiters == null) {
+            synchronized (this) {
+                currentWaiters = ext.waiters;
+                if (currentWaiters == null) {
+                    currentWaiters = new SetListeners<>();
+                    ext.waiters = currentWaiters;
+                }
+            }
+        }
+        return currentWaiters.add(waiter);
+    }
+
+    private void notifyWaiters(T value) {
+        PropertyExtensions<T> ext = extensions;
+        SetListeners<T> currentWaiters = ext != null ? ext.waiters : null;
+        if (currentWaiters != null) {
+            currentWaiters.notify(value);
+        }
     }
 
     private void invokeOnClear() {
@@ -323,7 +1162,7 @@ public class Property<T> implements
         {
             @Override
             public void subscribe(@NonNull ObservableEmitter<T> e) throws Exception {
-                if (!emitters.contains(e)) {
+                if (!emitters().contains(e)) {
                     updateEmittersAndInvokeOnNextIfNotNull(e);
                 }
             }
@@ -331,12 +1170,100 @@ public class Property<T> implements
     }
 
     private void updateEmittersAndInvokeOnNextIfNotNull(ObservableEmitter<T> e) {
-        emitters.update(e);
+        emitters().update(e);
         if (object != null) {
             e.onNext(get());
         }
     }
 
+    /**
+     * creates an {@link Observable} from this {@link Property}, with a {@link Replay} that
+     * decides which values are emitted to every new subscriber before the values set after
+     * it subscribed, {@link Replay#latest()} is the same as {@link #asObservable()}
+     * <p>
+     * {@link Replay#last(int)} keeps the recent values in a ring buffer that is shared by all
+     * the subscribers, it is allocated when the first of them subscribes, and starts with the
+     * current value (if any), followed by the values set after that, the buffer is released
+     * by {@link #clear()}, and emptied when {@code null} is set
+     *
+     * @param replay the values to emit to every new subscriber
+     * @return an {@link Observable} that emits the value of this {@link Property}
+     */
+    public Observable<T> asObservable(final Replay replay) {
+        return Observable.create(new ObservableOnSubscribe<T>()
+        {
+            @Override
+            public void subscribe(@NonNull ObservableEmitter<T> e) throws Exception {
+                EmittersGroup<T> group = emitters();
+                if (group.contains(e)) {
+                    return;
+                }
+
+                group.update(e);
+                if (replay.count() > 1) {
+                    for (T value : replayBuffer(replay.count()).last(replay.count())) {
+                        e.onNext(value);
+                    }
+                } else if (replay.count() == 1 && object != null) {
+                    e.onNext(get());
+                }
+            }
+        });
+    }
+
+    private ReplayBuffer<T> replayBuffer(int capacity) {
+        PropertyExtensions<T> ext = extensions();
+        ReplayBuffer<T> buffer = ext.replayBuffer;
+        if (buffer == null) {
+            synchronized (this) {
+                buffer = ext.replayBuffer;
+                if (buffer == null) {
+                    buffer = new ReplayBuffer<>(capacity);
+                    if (object != null) {
+                        buffer.add(get());
+                    }
+                    ext.replayBuffer = buffer;
+                }
+            }
+        }
+        buffer.ensureCapacity(capacity);
+        return buffer;
+    }
+
+    /**
+     * creates an {@link Observable} from this {@link Property}, that emits only the values
+     * accepted by the passed {@link Predicate}, after mapping them with the passed
+     * {@link Function}, this is the same as invoking {@code filter()} and {@code map()} on
+     * {@link #asObservable()}, but the {@link Predicate} and the {@link Function} are invoked
+     * directly from {@link #set(Object)}, so a rejected value does not reach the
+     * {@link Observable} at all
+     * <p>
+     * if the {@link Predicate} or the {@link Function} throws an exception, only this
+     * {@link Observable} emits it, the other subscribers of this {@link Property} are
+     * not affected
+     *
+     * @param filter the {@link Predicate} that decides which values are emitted
+     * @param mapper the {@link Function} that maps the accepted values
+     * @param <R>    the type of the mapped values
+     * @return an {@link Observable} that emits the mapped values of this {@link Property}
+     */
+    public <R> Observable<R> asObservable(final Predicate<? super T> filter,
+                                          final Function<? super T, ? extends R> mapper) {
+        return Observable.create(new ObservableOnSubscribe<R>()
+        {
+            @Override
+            public void subscribe(@NonNull ObservableEmitter<R> e) throws Exception {
+                EmittersGroup<T> group = emitters();
+                if (!group.contains(e)) {
+                    EmittersGroup.Entry<T, R> entry = group.update(e, filter, mapper);
+                    if (object != null) {
+                        entry.onNext(get());
+                    }
+                }
+            }
+        });
+    }
+
     /**
      * creates an {@link Observable} from this {@link Property} value, which should be
      * a {@link Iterable}, like {@link Collection} classes for example
@@ -365,6 +1292,87 @@ public class Property<T> implements
         }
     }
 
+    /**
+     * creates a live {@link Observable} from this {@link Property} value, which should be
+     * a {@link Iterable}, the items are emitted in chunks of a fixed size, and every time
+     * a new value is set, the iteration of the previous value is cancelled, and the new value
+     * is iterated from it's start
+     *
+     * @param iterableItemType the type of the stored items in the {@link Iterable} value
+     *                         of this {@link Property}
+     * @param chunkSize        the maximum number of items in every emitted {@link List},
+     *                         the last chunk of every value may hold less items
+     * @return an {@link Observable} that emits the chunks of every value set, it emits
+     * {@link UnsupportedOperationException} if a value is not an {@link Iterable}, or
+     * {@link ClassCastException} if an item does not match the passed type
+     */
+    public <V> Observable<List<V>> asObservableFromIterable(
+            Class<V> iterableItemType, int chunkSize) {
+        return asObservableFromIterable(iterableItemType, chunkSize, null);
+    }
+
+    /**
+     * same as {@link #asObservableFromIterable(Class, int)}, but every value is iterated on
+     * the passed {@link Scheduler}, so setting a new value does not wait for the iteration of
+     * the previous value, and cancels it between two chunks
+     *
+     * @param iterableItemType the type of the stored items in the {@link Iterable} value
+     *                         of this {@link Property}
+     * @param chunkSize        the maximum number of items in every emitted {@link List}
+     * @param scheduler        the {@link Scheduler} that iterates the values, or {@code null}
+     *                         to iterate on the thread that sets the value
+     * @return an {@link Observable} that emits the chunks of every value set
+     */
+    public <V> Observable<List<V>> asObservableFromIterable(
+            final Class<V> iterableItemType, final int chunkSize, final Scheduler scheduler) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive : " + chunkSize);
+        }
+
+        return asObservable().switchMap(new Function<T, ObservableSource<List<V>>>()
+        {
+            @Override
+            public ObservableSource<List<V>> apply(@NonNull T value) throws Exception {
+                Observable<List<V>> chunks = chunksOf(value, iterableItemType, chunkSize);
+                return scheduler == null ? chunks : chunks.subscribeOn(scheduler);
+            }
+        });
+    }
+
+    private static <V> Observable<List<V>> chunksOf(
+            final Object value, final Class<V> iterableItemType, final int chunkSize) {
+        return Observable.create(new ObservableOnSubscribe<List<V>>()
+        {
+            @Override
+            public void subscribe(@NonNull ObservableEmitter<List<V>> e) throws Exception {
+                if (!(value instanceof Iterable)) {
+                    e.onError(new UnsupportedOperationException(
+                            "no Iterable to use as Observable source"));
+                    return;
+                }
+
+                List<V> chunk = new ArrayList<>(chunkSize);
+                for (Object item : (Iterable<?>) value) {
+                    chunk.add(iterableItemType.cast(item));
+                    if (chunk.size() == chunkSize) {
+                        if (e.isDisposed()) {
+                            return;
+                        }
+                        e.onNext(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+
+                if (!e.isDisposed()) {
+                    if (!chunk.isEmpty()) {
+                        e.onNext(chunk);
+                    }
+                    e.onComplete();
+                }
+            }
+        });
+    }
+
     /**
      * map the value stored in this property to another value
      *
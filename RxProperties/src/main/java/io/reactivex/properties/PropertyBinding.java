@@ -0,0 +1,110 @@
+package io.reactivex.properties;
+
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Function;
+import io.reactivex.properties.exceptions.InvocationException;
+
+/**
+ * keeps two {@link Property} instances in sync through their set listeners, when one of them
+ * accepts a value, the converted value is set to the other one, and the change caused by this
+ * update is not propagated back
+ * <p>
+ * the guard against propagating back is not thread-safe, both {@link Property} instances
+ * should be updated from the same thread (like the main thread)
+ * <p>
+ * a converter that fails does not affect the {@link Property} that was set, the failure is
+ * passed to the errors of the {@link Property} that should have received the converted value
+ *
+ * @param <A> the type of the first {@link Property}
+ * @param <B> the type of the second {@link Property}
+ */
+class PropertyBinding<A, B> implements Disposable
+{
+
+    private final Property<A> first;
+    private final Property<B> second;
+    private final Function<? super A, ? extends B> forward;
+    private final Function<? super B, ? extends A> backward;
+    private final Disposable firstListener;
+    private final Disposable secondListener;
+    private boolean propagating;
+
+    PropertyBinding(Property<A> first,
+                    Property<B> second,
+                    Function<? super A, ? extends B> forward,
+                    Function<? super B, ? extends A> backward) {
+        this.first = first;
+        this.second = second;
+        this.forward = forward;
+        this.backward = backward;
+
+        if (first.object != null) {
+            onFirstSet(first.object);
+        }
+
+        this.firstListener = first.addSetListener(new SetListeners.Listener<A>()
+        {
+            @Override
+            public void onSet(A value) {
+                onFirstSet(value);
+            }
+        });
+        this.secondListener = second.addSetListener(new SetListeners.Listener<B>()
+        {
+            @Override
+            public void onSet(B value) {
+                onSecondSet(value);
+            }
+        });
+    }
+
+    private void onFirstSet(A value) {
+        if (propagating) {
+            return;
+        }
+
+        propagating = true;
+        try {
+            second.set(value == null ? null : convert(forward, value));
+        } catch (Throwable e) {
+            second.onError(e);
+        } finally {
+            propagating = false;
+        }
+    }
+
+    private void onSecondSet(B value) {
+        if (propagating) {
+            return;
+        }
+
+        propagating = true;
+        try {
+            first.set(value == null ? null : convert(backward, value));
+        } catch (Throwable e) {
+            first.onError(e);
+        } finally {
+            propagating = false;
+        }
+    }
+
+    private <X, Y> Y convert(Function<? super X, ? extends Y> converter, X value) {
+        try {
+            return converter.apply(value);
+        } catch (Throwable e) {
+            throw new InvocationException("failed to convert bound value (" + value + ")", e);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        firstListener.dispose();
+        secondListener.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return firstListener.isDisposed() && secondListener.isDisposed();
+    }
+}
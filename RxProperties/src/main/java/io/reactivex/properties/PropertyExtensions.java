@@ -0,0 +1,37 @@
+package io.reactivex.properties;
+
+
+import java.util.List;
+
+import io.reactivex.ObservableEmitter;
+import io.reactivex.Single;
+import io.reactivex.functions.BiFunction;
+import io.reactivex.functions.Function;
+
+/**
+ * the state of the rarely used features of a {@link Property}, like the rate limiting, the
+ * asynchronous hooks, the interceptors chain, the replay buffer and the error side channel,
+ * it is created the first time one of them is used, so a {@link Property} that only stores
+ * and emits values (like the ones held by a {@link PropertyRegistry}) does not pay for them
+ * <p>
+ * the fields are guarded the same way they were on the {@link Property} itself, the lazily
+ * created ones are created while holding the {@link Property} monitor
+ *
+ * @param <T> the type of the values of the {@link Property}
+ */
+final class PropertyExtensions<T>
+{
+
+    volatile SetListeners<T> setListeners;
+    volatile SetListeners<T> waiters;
+    volatile RateLimiter<T> rateLimiter;
+    BiFunction<T, T, Single<T>> onSetAsync;
+    Function<T, Single<T>> onGetAsync;
+    volatile AsyncSetter<T> asyncSetter;
+    volatile Interceptors<T> interceptors;
+    volatile ReplayBuffer<T> replayBuffer;
+    volatile ErrorPolicy errorPolicy = ErrorPolicy.PROPAGATE;
+    volatile List<ObservableEmitter<Throwable>> errorEmitters;
+    Throwable undeliveredError;
+
+}
@@ -0,0 +1,375 @@
+package io.reactivex.properties;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.ObservableOnSubscribe;
+import io.reactivex.annotations.NonNull;
+import io.reactivex.functions.Cancellable;
+
+/**
+ * a registry of {@link Property} instances that are looked up by a {@link String} key or by a
+ * {@code long} id, the {@link Property} instances are created the first time they are requested,
+ * and all the values they accept can be observed through a single {@link #changes()} stream
+ * <p>
+ * the {@link Property} instances are stored in open-addressing hash tables, looking up an
+ * existing {@link Property} is lock-free, while creating a new one is synchronized on the shard
+ * that owns it, by default there is a single shard, use {@link #PropertyRegistry(int)} when
+ * many threads register and update {@link Property} instances at the same time
+ *
+ * @param <T> the type of the values held by the registered {@link Property} instances
+ */
+public class PropertyRegistry<T> implements Clearable
+{
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAXIMUM_SHARDS = 1 << 16;
+
+    private final Shard<T>[] shards;
+    private final int shardShift;
+
+    /**
+     * create a {@link PropertyRegistry} with a single shard
+     */
+    public PropertyRegistry() {
+        this(1);
+    }
+
+    /**
+     * create a {@link PropertyRegistry} that splits it's {@link Property} instances over
+     * multiple shards, every shard has it's own table, lock and {@link #changes()} subscribers,
+     * so threads that register or set {@link Property} instances in different shards do not
+     * compete with each other
+     *
+     * @param shards the number of shards, rounded up to a power of two, a good value is the
+     *               number of the threads that will use this registry
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PropertyRegistry(int shards) {
+        if (shards < 1 || shards > MAXIMUM_SHARDS) {
+            throw new IllegalArgumentException("shards must be between 1 and "
+                    + MAXIMUM_SHARDS + " : " + shards);
+        }
+
+        int shardBits = 32 - Integer.numberOfLeadingZeros(shards - 1);
+        this.shards = new Shard[1 << shardBits];
+        this.shardShift = 32 - shardBits;
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new Shard<>();
+        }
+    }
+
+    /**
+     * get the {@link Property} registered for a key, if it does not exist, a new empty
+     * {@link Property} is registered and returned
+     *
+     * @param key the key of the {@link Property}
+     * @return the registered {@link Property}
+     */
+    public Property<T> property(@NonNull String key) {
+        int hash = hash(key.hashCode());
+        Shard<T> shard = shardOf(hash);
+        RegisteredProperty<T> property = shard.find(key, 0, hash);
+        return property != null ? property : shard.register(key, 0, hash);
+    }
+
+    /**
+     * get the {@link Property} registered for an id, if it does not exist, a new empty
+     * {@link Property} is registered and returned
+     *
+     * @param id the id of the {@link Property}
+     * @return the registered {@link Property}
+     */
+    public Property<T> property(long id) {
+        int hash = hash((int) (id ^ (id >>> 32)));
+        Shard<T> shard = shardOf(hash);
+        RegisteredProperty<T> property = shard.find(null, id, hash);
+        return property != null ? property : shard.register(null, id, hash);
+    }
+
+    /**
+     * check if a {@link Property} is registered for a key, without registering it
+     *
+     * @param key the key of the {@link Property}
+     * @return {@code true} if a {@link Property} is registered for this key
+     */
+    public boolean contains(@NonNull String key) {
+        int hash = hash(key.hashCode());
+        return shardOf(hash).find(key, 0, hash) != null;
+    }
+
+    /**
+     * check if a {@link Property} is registered for an id, without registering it
+     *
+     * @param id the id of the {@link Property}
+     * @return {@code true} if a {@link Property} is registered for this id
+     */
+    public boolean contains(long id) {
+        int hash = hash((int) (id ^ (id >>> 32)));
+        return shardOf(hash).find(null, id, hash) != null;
+    }
+
+    /**
+     * get the number of the registered {@link Property} instances
+     *
+     * @return the number of the registered {@link Property} instances
+     */
+    public int size() {
+        int size = 0;
+        for (Shard<T> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    private static int hash(int hashCode) {
+        int hash = hashCode * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private Shard<T> shardOf(int hash) {
+        return shardShift == 32 ? shards[0] : shards[hash >>> shardShift];
+    }
+
+    /**
+     * creates an {@link Observable} that emits a {@link Change} every time any of the registered
+     * {@link Property} instances accepts a value, the {@link Change} is created only while there
+     * are subscribers, the changes of every shard are merged without any lock shared between
+     * the shards
+     *
+     * @return an {@link Observable} of the changes of all the registered {@link Property} instances
+     */
+    public Observable<Change<T>> changes() {
+        if (shards.length == 1) {
+            return shards[0].changes();
+        }
+
+        List<Observable<Change<T>>> changes = new ArrayList<>(shards.length);
+        for (Shard<T> shard : shards) {
+            changes.add(shard.changes());
+        }
+        return Observable.merge(changes);
+    }
+
+    /**
+     * clear all the registered {@link Property} instances and remove them from this registry,
+     * and complete the subscribers of {@link #changes()}
+     */
+    @Override
+    public void clear() {
+        for (Shard<T> shard : shards) {
+            shard.clear();
+        }
+    }
+
+    private static class Shard<T> implements Clearable
+    {
+        private final List<ObservableEmitter<Change<T>>> emitters = new CopyOnWriteArrayList<>();
+        private volatile AtomicReferenceArray<RegisteredProperty<T>> table =
+                new AtomicReferenceArray<>(INITIAL_CAPACITY);
+        private int size;
+
+        synchronized int size() {
+            return size;
+        }
+
+        RegisteredProperty<T> find(String key, long id, int hash) {
+            AtomicReferenceArray<RegisteredProperty<T>> table = this.table;
+            int mask = table.length() - 1;
+            int index = hash & mask;
+            RegisteredProperty<T> property;
+            while ((property = table.get(index)) != null) {
+                if (property.matches(key, id)) {
+                    return property;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        synchronized RegisteredProperty<T> register(String key, long id, int hash) {
+            RegisteredProperty<T> property = find(key, id, hash);
+            if (property != null) {
+                return property;
+            }
+
+            if ((size + 1) * 4 > table.length() * 3) {
+                resize();
+            }
+
+            property = new RegisteredProperty<>(this, key, id, hash);
+            insert(table, property);
+            size++;
+            return property;
+        }
+
+        private void resize() {
+            AtomicReferenceArray<RegisteredProperty<T>> oldTable = table;
+            AtomicReferenceArray<RegisteredProperty<T>> newTable =
+                    new AtomicReferenceArray<>(oldTable.length() * 2);
+            for (int i = 0; i < oldTable.length(); i++) {
+                RegisteredProperty<T> property = oldTable.get(i);
+                if (property != null) {
+                    insert(newTable, property);
+                }
+            }
+            table = newTable;
+        }
+
+        private void insert(AtomicReferenceArray<RegisteredProperty<T>> table,
+                            RegisteredProperty<T> property) {
+            int mask = table.length() - 1;
+            int index = property.hash & mask;
+            while (table.get(index) != null) {
+                index = (index + 1) & mask;
+            }
+            table.set(index, property);
+        }
+
+        Observable<Change<T>> changes() {
+            return Observable.create(new ObservableOnSubscribe<Change<T>>()
+            {
+                @Override
+                public void subscribe(@NonNull ObservableEmitter<Change<T>> e) throws Exception {
+                    final ObservableEmitter<Change<T>> emitter = e.serialize();
+                    emitter.setCancellable(new Cancellable()
+                    {
+                        @Override
+                        public void cancel() throws Exception {
+                            emitters.remove(emitter);
+                        }
+                    });
+                    emitters.add(emitter);
+                }
+            });
+        }
+
+        void onPropertySet(RegisteredProperty<T> property, T value) {
+            if (emitters.isEmpty()) {
+                return;
+            }
+
+            Change<T> change = new Change<>(property.key, property.id, value);
+            for (ObservableEmitter<Change<T>> emitter : emitters) {
+                if (!emitter.isDisposed()) {
+                    emitter.onNext(change);
+                }
+            }
+        }
+
+        @Override
+        public void clear() {
+            AtomicReferenceArray<RegisteredProperty<T>> oldTable;
+            synchronized (this) {
+                oldTable = table;
+                table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+                size = 0;
+            }
+
+            for (int i = 0; i < oldTable.length(); i++) {
+                RegisteredProperty<T> property = oldTable.get(i);
+                if (property != null) {
+                    property.clear();
+                }
+            }
+
+            for (ObservableEmitter<Change<T>> emitter : emitters) {
+                if (!emitter.isDisposed()) {
+                    emitter.onComplete();
+                }
+            }
+            emitters.clear();
+        }
+    }
+
+    /**
+     * a value accepted by one of the registered {@link Property} instances
+     *
+     * @param <T> the type of the value
+     */
+    public static final class Change<T>
+    {
+        private final String key;
+        private final long id;
+        private final T value;
+
+        Change(String key, long id, T value) {
+            this.key = key;
+            this.id = id;
+            this.value = value;
+        }
+
+        /**
+         * @return the key of the {@link Property}, or {@code null} if it is registered by id
+         */
+        public String key() {
+            return key;
+        }
+
+        /**
+         * @return {@code true} if the {@link Property} is registered by id, or {@code false}
+         * if it is registered by key
+         */
+        public boolean hasId() {
+            return key == null;
+        }
+
+        /**
+         * @return the id of the {@link Property}, this is meaningful only if {@link #hasId()}
+         * returns {@code true}, since {@code 0} is a valid id as well
+         */
+        public long id() {
+            return id;
+        }
+
+        /**
+         * @return the value accepted by the {@link Property}
+         */
+        public T value() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return (key != null ? key : String.valueOf(id)) + "=" + value;
+        }
+    }
+
+    private static class RegisteredProperty<T> extends Property<T>
+    {
+        final Shard<T> shard;
+        final String key;
+        final long id;
+        final int hash;
+
+        RegisteredProperty(Shard<T> shard, String key, long id, int hash) {
+            this.shard = shard;
+            this.key = key;
+            this.id = id;
+            this.hash = hash;
+        }
+
+        boolean matches(String key, long id) {
+            return key != null
+                    ? key.equals(this.key)
+                    : this.key == null && this.id == id;
+        }
+
+        @Override
+        void onAccepted(T value) {
+            super.onAccepted(value);
+            shard.onPropertySet(this, value);
+        }
+
+        @Override
+        public String toString() {
+            return key != null ? key : String.valueOf(id);
+        }
+    }
+
+}
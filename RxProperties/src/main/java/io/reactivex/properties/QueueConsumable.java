@@ -0,0 +1,307 @@
+package io.reactivex.properties;
+
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.ObservableOnSubscribe;
+import io.reactivex.annotations.NonNull;
+import io.reactivex.functions.Cancellable;
+import io.reactivex.functions.Consumer;
+import io.reactivex.properties.exceptions.ConsumedException;
+import io.reactivex.properties.exceptions.RuntimeExceptionConverter;
+
+/**
+ * a {@link Consumable} like Class that holds multiple Objects that are used only once, every call
+ * to {@link #set(Object)} adds an Object to a bounded queue, and every call to {@link #get()} or
+ * {@link #consume()} removes the oldest Object from the queue, so bursts of Objects that are set
+ * before any of them is consumed are not lost
+ * <p>
+ * when the queue is full, the {@link Overflow} passed to the constructor decides what happens
+ * to the new Objects, the queue is lock-free, so Objects can be set from multiple threads
+ * <p>
+ * an Object that was taken for a subscriber of {@link #asObservable()} that got disposed
+ * before receiving it is kept as the head of the queue, so it is the next Object to be emitted
+ * or consumed, and it is never dropped, even if the queue was filled meanwhile
+ *
+ * @param <T> the type of the Objects
+ */
+public class QueueConsumable<T> implements
+        Callable<T>,
+        Consumer<T>,
+        Clearable,
+        Emptyable
+{
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final BoundedQueue<T> queue;
+    private final Overflow overflow;
+    private final List<ObservableEmitter<T>> emitters = new CopyOnWriteArrayList<>();
+    private final AtomicInteger emittingCount = new AtomicInteger();
+    private final AtomicReference<T> pendingHead = new AtomicReference<>();
+    private int nextEmitterIndex;
+
+    /**
+     * create a {@link QueueConsumable} that drops it's oldest Objects when it is full
+     *
+     * @param capacity the maximum number of Objects that can wait to be consumed
+     */
+    public QueueConsumable(int capacity) {
+        this(capacity, Overflow.DROP_OLDEST);
+    }
+
+    /**
+     * create a {@link QueueConsumable}
+     *
+     * @param capacity the maximum number of Objects that can wait to be consumed
+     * @param overflow what to do when an Object is set while the queue is full
+     */
+    public QueueConsumable(int capacity, @NonNull Overflow overflow) {
+        this.queue = new BoundedQueue<>(capacity);
+        this.overflow = overflow;
+    }
+
+    /**
+     * add an Object to the queue, if there are subscribers to {@link #asObservable()}, the
+     * Object will be emitted to one of them
+     *
+     * @param object the object to be consumed later on
+     * @return the object passed
+     * @throws NullPointerException if the object is {@code null}
+     */
+    public T set(@NonNull T object) throws NullPointerException {
+        if (object == null) {
+            throw new NullPointerException("null values can not be queued");
+        }
+
+        switch (overflow) {
+            case DROP_NEWEST:
+                queue.offer(object);
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(object)) {
+                    queue.poll();
+                }
+                break;
+            case BLOCK:
+                while (!queue.offer(object)) {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+                break;
+        }
+
+        if (!emitters.isEmpty()) {
+            emitQueuedObjects();
+        }
+        return object;
+    }
+
+    /**
+     * remove the oldest Object in the queue
+     *
+     * @return the oldest Object, or {@code null} if the queue is empty
+     */
+    public T get() {
+        return poll();
+    }
+
+    /**
+     * remove the oldest Object in the queue, if the queue is empty, this method will throw
+     * a {@link ConsumedException}
+     *
+     * @return the oldest Object
+     * @throws ConsumedException if the queue is empty
+     */
+    public T consume() throws ConsumedException {
+        T object = poll();
+        if (object == null) {
+            throw new ConsumedException();
+        }
+        return object;
+    }
+
+    /**
+     * remove all the Objects in the queue and pass them to a {@link Consumer} in the order
+     * they were set
+     *
+     * @param consumer the {@link Consumer} that will receive the Objects
+     * @return the number of the Objects passed to the {@link Consumer}
+     */
+    public int drainTo(@NonNull Consumer<? super T> consumer) {
+        int count = 0;
+        T object;
+        while ((object = poll()) != null) {
+            try {
+                consumer.accept(object);
+            } catch (Throwable e) {
+                throw new RuntimeExceptionConverter().apply(e);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * an implementation of the {@link Callable} interface, same as {@link #get()}
+     *
+     * @return the result of invoking {@link #get()}
+     */
+    @Override
+    public T call() {
+        return get();
+    }
+
+    /**
+     * an implementation of the {@link Consumer} interface, same as {@link #set(Object)}
+     *
+     * @param object the object received from the Observer
+     */
+    @Override
+    public void accept(T object) {
+        set(object);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return pendingHead.get() == null && queue.isEmpty();
+    }
+
+    /**
+     * get the number of the Objects waiting to be consumed
+     *
+     * @return the number of the Objects in the queue
+     */
+    public int size() {
+        return pendingHead.get() != null ? queue.size() + 1 : queue.size();
+    }
+
+    /**
+     * remove all the Objects in the queue, and complete all the subscribers of
+     * {@link #asObservable()}
+     */
+    @Override
+    public void clear() {
+        pendingHead.set(null);
+        while (queue.poll() != null) {
+            // drop
+        }
+
+        for (ObservableEmitter<T> emitter : emitters) {
+            if (!emitter.isDisposed()) {
+                emitter.onComplete();
+            }
+        }
+        emitters.clear();
+    }
+
+    /**
+     * creates an {@link Observable} from this {@link QueueConsumable}, every Object is emitted
+     * to only one of the subscribers, and it is removed from the queue once it is emitted,
+     * subscribers take the Objects in turns, if there are no subscribers, the Objects stay in
+     * the queue until a subscriber is available
+     *
+     * @return an {@link Observable} that emits the Objects of this {@link QueueConsumable}
+     */
+    public Observable<T> asObservable() {
+        return Observable.create(new ObservableOnSubscribe<T>()
+        {
+            @Override
+            public void subscribe(@NonNull final ObservableEmitter<T> e) throws Exception {
+                e.setCancellable(new Cancellable()
+                {
+                    @Override
+                    public void cancel() throws Exception {
+                        emitters.remove(e);
+                    }
+                });
+                emitters.add(e);
+                emitQueuedObjects();
+            }
+        });
+    }
+
+    private void emitQueuedObjects() {
+        if (emittingCount.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            ObservableEmitter<T> emitter;
+            while (!isEmpty() && (emitter = nextEmitter()) != null) {
+                T object = poll();
+                if (object == null) {
+                    break;
+                }
+
+                while (emitter != null && emitter.isDisposed()) {
+                    emitter = nextEmitter();
+                }
+
+                if (emitter == null) {
+                    // all the subscribers were disposed after the Object was taken, keep it
+                    // as the head, only this loop fills the head, and it was just emptied
+                    pendingHead.set(object);
+                    break;
+                }
+                emitter.onNext(object);
+            }
+            missed = emittingCount.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private T poll() {
+        T head = pendingHead.get();
+        if (head != null && pendingHead.compareAndSet(head, null)) {
+            return head;
+        }
+        return queue.poll();
+    }
+
+    private ObservableEmitter<T> nextEmitter() {
+        int size = emitters.size();
+        for (int i = 0; i < size; i++) {
+            int index = (nextEmitterIndex + i) % size;
+            ObservableEmitter<T> emitter;
+            try {
+                emitter = emitters.get(index);
+            } catch (IndexOutOfBoundsException e) {
+                return null;
+            }
+
+            if (!emitter.isDisposed()) {
+                nextEmitterIndex = index + 1;
+                return emitter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * the behavior of {@link QueueConsumable#set(Object)} when the queue is full
+     */
+    public enum Overflow
+    {
+        /**
+         * remove the oldest Object in the queue to make space for the new one
+         */
+        DROP_OLDEST,
+        /**
+         * ignore the new Object
+         */
+        DROP_NEWEST,
+        /**
+         * block the calling thread until there is space for the new Object, this should not
+         * be used if the Objects are consumed on the same thread that sets them
+         */
+        BLOCK
+    }
+}
@@ -0,0 +1,179 @@
+package io.reactivex.properties;
+
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * limits the rate of the notifications of a {@link Property}, the values are still stored
+ * immediately by {@link Property#set(Object)}, while {@link Property#onUpdate(io.reactivex.functions.Consumer)},
+ * the subscribers of {@link Property#asObservable()} and the internal listeners are notified
+ * according to the {@link Mode}
+ * <p>
+ * every {@link RateLimiter} uses a single {@link Scheduler.Worker}, and holds at most one
+ * scheduled task at a time, so a {@link Property} with many subscribers still schedules
+ * one task per window, and every set reschedules the timer once at most
+ *
+ * @param <T> the type of the values
+ */
+class RateLimiter<T>
+{
+
+    /**
+     * the rate limiting strategies, they match the {@link io.reactivex.Observable} operators
+     * with the same names
+     */
+    enum Mode
+    {
+        /**
+         * notify with the last value once no value was set for the whole window
+         */
+        DEBOUNCE,
+        /**
+         * notify with the first value immediately, and ignore the values set in the window
+         * that follows it
+         */
+        THROTTLE_FIRST,
+        /**
+         * notify with the first value immediately, and with the last value set in the window
+         * that follows it once the window ends
+         */
+        THROTTLE_LATEST,
+        /**
+         * notify with the last value set in every window once the window ends
+         */
+        SAMPLE
+    }
+
+    /**
+     * receives the notifications that passed the rate limit
+     *
+     * @param <T> the type of the values
+     */
+    interface Target<T>
+    {
+        void deliver(T object, boolean accepted);
+    }
+
+    private final Mode mode;
+    private final long window;
+    private final Scheduler.Worker worker;
+    private final Target<T> target;
+
+    private T pendingObject;
+    private boolean pendingAccepted;
+    private boolean pending;
+    private Disposable timer;
+
+    private final Runnable onTimer = new Runnable()
+    {
+        @Override
+        public void run() {
+            onWindowEnd();
+        }
+    };
+
+    RateLimiter(Mode mode, long window, TimeUnit unit, Scheduler scheduler, Target<T> target) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive : " + window);
+        }
+        this.mode = mode;
+        this.window = unit.toNanos(window);
+        this.worker = scheduler.createWorker();
+        this.target = target;
+    }
+
+    /**
+     * invoked by {@link Property#set(Object)} after the value is stored
+     *
+     * @param object   the value passed to {@link Property#set(Object)}
+     * @param accepted {@code true} if the value was accepted by the {@link Property}
+     */
+    void onSet(T object, boolean accepted) {
+        boolean deliverNow = false;
+        synchronized (this) {
+            switch (mode) {
+                case DEBOUNCE:
+                    keep(object, accepted);
+                    if (timer != null) {
+                        timer.dispose();
+                    }
+                    timer = schedule();
+                    break;
+                case THROTTLE_FIRST:
+                    if (timer == null) {
+                        deliverNow = true;
+                        timer = schedule();
+                    }
+                    break;
+                case THROTTLE_LATEST:
+                    if (timer == null) {
+                        deliverNow = true;
+                        timer = schedule();
+                    } else {
+                        keep(object, accepted);
+                    }
+                    break;
+                case SAMPLE:
+                    keep(object, accepted);
+                    if (timer == null) {
+                        timer = schedule();
+                    }
+                    break;
+            }
+        }
+
+        if (deliverNow) {
+            target.deliver(object, accepted);
+        }
+    }
+
+    private void keep(T object, boolean accepted) {
+        pendingAccepted = pending ? pendingAccepted || accepted : accepted;
+        pendingObject = object;
+        pending = true;
+    }
+
+    private Disposable schedule() {
+        return worker.schedule(onTimer, window, TimeUnit.NANOSECONDS);
+    }
+
+    private void onWindowEnd() {
+        T object;
+        boolean accepted;
+        synchronized (this) {
+            if (!pending) {
+                timer = null;
+                return;
+            }
+
+            object = pendingObject;
+            accepted = pendingAccepted;
+            pendingObject = null;
+            pending = false;
+            timer = mode == Mode.THROTTLE_LATEST ? schedule() : null;
+        }
+
+        try {
+            target.deliver(object, accepted);
+        } catch (Throwable e) {
+            RxJavaPlugins.onError(e);
+        }
+    }
+
+    /**
+     * cancel the scheduled notification (if any) and release the {@link Scheduler.Worker}
+     */
+    void dispose() {
+        synchronized (this) {
+            pendingObject = null;
+            pending = false;
+            timer = null;
+        }
+        worker.dispose();
+    }
+
+}
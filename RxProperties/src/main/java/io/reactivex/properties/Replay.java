@@ -0,0 +1,58 @@
+package io.reactivex.properties;
+
+/**
+ * the values emitted to a new subscriber of {@link Property#asObservable(Replay)} before the
+ * values set after it subscribed
+ */
+public final class Replay
+{
+
+    private static final Replay NONE = new Replay(0);
+    private static final Replay LATEST = new Replay(1);
+
+    private final int count;
+
+    private Replay(int count) {
+        this.count = count;
+    }
+
+    /**
+     * @return a {@link Replay} that emits only the values set after subscribing
+     */
+    public static Replay none() {
+        return NONE;
+    }
+
+    /**
+     * @return a {@link Replay} that emits the current value first (if any), this is the
+     * behavior of {@link Property#asObservable()}
+     */
+    public static Replay latest() {
+        return LATEST;
+    }
+
+    /**
+     * creates a {@link Replay} that emits up to the last {@code count} values set, oldest
+     * first, the values are kept in a ring buffer shared by all the subscribers of the
+     * {@link Property}, which is allocated when the first subscriber with this
+     * {@link Replay} subscribes, and keeps recording until {@link Property#clear()}
+     *
+     * @param count the maximum number of values to emit
+     * @return a {@link Replay} that emits the last values set
+     */
+    public static Replay last(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive : " + count);
+        }
+        return count == 1 ? LATEST : new Replay(count);
+    }
+
+    int count() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "Replay(" + count + ")";
+    }
+}
@@ -0,0 +1,74 @@
+package io.reactivex.properties;
+
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * a ring buffer that keeps the last values emitted by a {@link Property}, it is shared by all
+ * the subscribers of {@link Property#asObservable(Replay)}, and grows when a subscriber asks
+ * for more values than it can hold
+ *
+ * @param <T> the type of the values
+ */
+class ReplayBuffer<T>
+{
+
+    private Object[] values;
+    private int next;
+    private int size;
+
+    ReplayBuffer(int capacity) {
+        values = new Object[capacity];
+    }
+
+    synchronized void add(T value) {
+        values[next] = value;
+        next = (next + 1) % values.length;
+        if (size < values.length) {
+            size++;
+        }
+    }
+
+    synchronized void clear() {
+        Arrays.fill(values, null);
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * make sure that this buffer can hold a number of values, the values already recorded
+     * are kept
+     *
+     * @param capacity the minimum capacity
+     */
+    synchronized void ensureCapacity(int capacity) {
+        if (capacity <= values.length) {
+            return;
+        }
+
+        Object[] newValues = new Object[capacity];
+        int start = (next - size + values.length) % values.length;
+        for (int i = 0; i < size; i++) {
+            newValues[i] = values[(start + i) % values.length];
+        }
+        values = newValues;
+        next = size % capacity;
+    }
+
+    /**
+     * @param count the maximum number of values to return
+     * @return the last recorded values, oldest first
+     */
+    @SuppressWarnings("unchecked")
+    synchronized List<T> last(int count) {
+        int length = Math.min(count, size);
+        Object[] result = new Object[length];
+        int start = (next - length + values.length) % values.length;
+        for (int i = 0; i < length; i++) {
+            result[i] = values[(start + i) % values.length];
+        }
+        return (List<T>) Arrays.asList(result);
+    }
+
+}
@@ -0,0 +1,121 @@
+package io.reactivex.properties;
+
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * the listeners that are notified directly from the {@link Property#set(Object)} path, without
+ * any Rx machinery, they are kept in a doubly linked list, so adding and removing a listener
+ * are O(1), and notifying the listeners does not allocate
+ * <p>
+ * adding and removing are synchronized, while notifying is lock-free, a listener removed
+ * while the listeners are being notified will not be notified after it's removal
+ * <p>
+ * the listeners are expected to handle their own failures, a listener that throws does not
+ * stop the other listeners, and it's failure is passed to
+ * {@link RxJavaPlugins#onError(Throwable)}, since the {@link Property} that notified it has
+ * already stored the value
+ *
+ * @param <T> the type of the values passed to the listeners
+ */
+class SetListeners<T>
+{
+
+    private volatile Node<T> head;
+    private Node<T> tail;
+
+    /**
+     * add a listener to the end of the list
+     *
+     * @param listener the listener to add
+     * @return a {@link Disposable} that removes the listener when disposed
+     */
+    synchronized Disposable add(Listener<T> listener) {
+        Node<T> node = new Node<>(this, listener);
+        if (tail == null) {
+            head = node;
+        } else {
+            node.previous = tail;
+            tail.next = node;
+        }
+        tail = node;
+        return node;
+    }
+
+    private synchronized void remove(Node<T> node) {
+        if (node.removed) {
+            return;
+        }
+
+        node.removed = true;
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+    }
+
+    /**
+     * notify all the listeners with a value
+     *
+     * @param value the value that was set
+     */
+    void notify(T value) {
+        for (Node<T> node = head; node != null; node = node.next) {
+            if (!node.removed) {
+                try {
+                    node.listener.onSet(value);
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    RxJavaPlugins.onError(e);
+                }
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+
+    /**
+     * a listener that is notified every time a value is set
+     *
+     * @param <T> the type of the values
+     */
+    interface Listener<T>
+    {
+        void onSet(T value);
+    }
+
+    private static class Node<T> implements Disposable
+    {
+        final SetListeners<T> owner;
+        final Listener<T> listener;
+        volatile Node<T> next;
+        Node<T> previous;
+        volatile boolean removed;
+
+        Node(SetListeners<T> owner, Listener<T> listener) {
+            this.owner = owner;
+            this.listener = listener;
+        }
+
+        @Override
+        public void dispose() {
+            owner.remove(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return removed;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.reactivex.properties;
+
+
+import io.reactivex.annotations.NonNull;
+
+/**
+ * notified when a subscriber of {@link Property#asObservable()} takes more than the time
+ * budget passed to {@link Property#onSlowSubscriber(long, java.util.concurrent.TimeUnit,
+ * SlowSubscriberListener)} to receive a value
+ */
+public interface SlowSubscriberListener
+{
+
+    /**
+     * invoked on the thread that set the value, right after the slow delivery finishes
+     *
+     * @param property      the {@link Property} of the slow subscriber
+     * @param durationNanos the time the subscriber took to receive the value
+     * @param isolated      {@code true} if the subscriber is moved to it's own asynchronous
+     *                      lane, so it will not delay the next values set
+     */
+    void onSlowSubscriber(@NonNull Property<?> property, long durationNanos, boolean isolated);
+}
@@ -0,0 +1,52 @@
+package io.reactivex.properties;
+
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+
+/**
+ * the time budget of delivering a value to a single subscriber of a {@link Property}, and
+ * what to do with the subscribers that take longer, see
+ * {@link Property#onSlowSubscriber(long, TimeUnit, SlowSubscriberListener)}
+ */
+class SlowSubscribers
+{
+
+    final Property<?> property;
+    final long budgetNanos;
+    final SlowSubscriberListener listener;
+    final Scheduler isolationScheduler;
+    final int isolationQueueCapacity;
+
+    SlowSubscribers(Property<?> property,
+                    long budget,
+                    TimeUnit unit,
+                    SlowSubscriberListener listener,
+                    Scheduler isolationScheduler,
+                    int isolationQueueCapacity) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("budget must be positive : " + budget);
+        }
+        if (isolationScheduler != null && isolationQueueCapacity < 1) {
+            throw new IllegalArgumentException("queue capacity must be positive : "
+                    + isolationQueueCapacity);
+        }
+        this.property = property;
+        this.budgetNanos = unit.toNanos(budget);
+        this.listener = listener;
+        this.isolationScheduler = isolationScheduler;
+        this.isolationQueueCapacity = isolationQueueCapacity;
+    }
+
+    boolean canIsolate() {
+        return isolationScheduler != null;
+    }
+
+    void report(long durationNanos, boolean isolated) {
+        if (listener != null) {
+            listener.onSlowSubscriber(property, durationNanos, isolated);
+        }
+    }
+
+}
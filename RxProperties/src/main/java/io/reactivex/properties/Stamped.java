@@ -0,0 +1,38 @@
+package io.reactivex.properties;
+
+/**
+ * a value taken from a {@link Property} with the version it had at that time, see
+ * {@link Property#getStamped()}
+ *
+ * @param <T> the type of the value
+ */
+public final class Stamped<T>
+{
+
+    private final T value;
+    private final long version;
+
+    Stamped(T value, long version) {
+        this.value = value;
+        this.version = version;
+    }
+
+    /**
+     * @return the value, or {@code null} if the {@link Property} was empty
+     */
+    public T value() {
+        return value;
+    }
+
+    /**
+     * @return the version of the {@link Property} when the value was taken
+     */
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "Stamped(" + value + ", " + version + ")";
+    }
+}
@@ -12,6 +12,8 @@ import io.reactivex.properties.exceptions.StateIsMovingToNullException;
  */
 public class State<T extends SwitchableState<T>> extends Property<T> implements SwitchableState<T> {
 
+    private StateHistory<T> history;
+    private boolean movingInHistory;
 
     State() {
     }
@@ -23,6 +25,9 @@ public class State<T extends SwitchableState<T>> extends Property<T> implements
     @Override
     public T set(@NonNull T object) {
         super.set(object);
+        if (history != null && !movingInHistory) {
+            history.push(this.object);
+        }
         return object;
     }
 
@@ -55,5 +60,103 @@ public class State<T extends SwitchableState<T>> extends Property<T> implements
         return get();
     }
 
+    /**
+     * keep a bounded history of the states set to this instance, so that {@link #undo()} returns
+     * to the state that was actually set before the current one, no matter how it was reached,
+     * unlike {@link #back()} which depends on the current state to know it's previous state
+     * <p>
+     * when the history is full, the oldest states are dropped, so the memory used stays the same
+     * for the whole life time of this instance
+     *
+     * @param capacity the maximum number of states to remember, including the current state
+     * @param <S>      the sub-class of this {@link State}
+     * @return the sub-class of this {@link State} to be used for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends State<T>> S history(int capacity) {
+        history = new StateHistory<>(capacity, object);
+        if (object != null) {
+            history.push(object);
+        }
+        return (S) this;
+    }
+
+    /**
+     * move to the state that was set before the current state, this requires {@link #history(int)}
+     * to be invoked first
+     *
+     * @return the new current state
+     * @throws StateIsMovingToNullException  if there is no previous state in the history
+     * @throws UnsupportedOperationException if {@link #history(int)} was not invoked
+     */
+    public T undo() throws StateIsMovingToNullException, UnsupportedOperationException {
+        T state = requireHistory().undo();
+        if (state == null) {
+            throw new StateIsMovingToNullException();
+        }
+
+        setFromHistory(state);
+        if (object != state) {
+            history.redo();
+        }
+        return get();
+    }
+
+    /**
+     * move to the state that was left by the last {@link #undo()}, this requires
+     * {@link #history(int)} to be invoked first
+     *
+     * @return the new current state
+     * @throws StateIsMovingToNullException  if there is no next state in the history, this
+     *                                       happens when no {@link #undo()} was invoked, or when
+     *                                       a new state was set after {@link #undo()}
+     * @throws UnsupportedOperationException if {@link #history(int)} was not invoked
+     */
+    public T redo() throws StateIsMovingToNullException, UnsupportedOperationException {
+        T state = requireHistory().redo();
+        if (state == null) {
+            throw new StateIsMovingToNullException();
+        }
+
+        setFromHistory(state);
+        if (object != state) {
+            history.undo();
+        }
+        return get();
+    }
+
+    /**
+     * check if {@link #undo()} can be invoked
+     *
+     * @return {@code true} if the history has a previous state, else {@code false}
+     */
+    public boolean canUndo() {
+        return history != null && history.canUndo();
+    }
+
+    /**
+     * check if {@link #redo()} can be invoked
+     *
+     * @return {@code true} if the history has a next state, else {@code false}
+     */
+    public boolean canRedo() {
+        return history != null && history.canRedo();
+    }
+
+    private StateHistory<T> requireHistory() {
+        if (history == null) {
+            throw new UnsupportedOperationException("history is not enabled, invoke history(int)");
+        }
+        return history;
+    }
+
+    private void setFromHistory(T state) {
+        movingInHistory = true;
+        try {
+            set(state);
+        } finally {
+            movingInHistory = false;
+        }
+    }
 
 }
@@ -0,0 +1,133 @@
+package io.reactivex.properties;
+
+
+/**
+ * a bounded history of the states visited by a {@link State}, the states are stored in a ring
+ * buffer, so when the history is full the oldest state is overwritten, and the memory used stays
+ * the same no matter how many states are pushed
+ * <p>
+ * if the states are {@code enum} constants, only their ordinals are stored in a primitive
+ * {@code int} array, else the states themselves are stored
+ *
+ * @param <T> the type of the states
+ */
+class StateHistory<T>
+{
+
+    private final int capacity;
+    private T[] constants;
+    private int[] ordinals;
+    private Object[] values;
+    private int start;
+    private int size;
+    private int cursor;
+
+    @SuppressWarnings("unchecked")
+    StateHistory(int capacity, T initialState) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("history capacity must be positive : " + capacity);
+        }
+
+        this.capacity = capacity;
+        if (initialState instanceof Enum) {
+            constants = (T[]) ((Enum<?>) initialState).getDeclaringClass().getEnumConstants();
+            ordinals = new int[capacity];
+        } else {
+            values = new Object[capacity];
+        }
+    }
+
+    /**
+     * push a state to the history after the current one, all the states that could be reached
+     * through {@link #redo()} are dropped
+     *
+     * @param state the state to push, if it is the same as the current state it is ignored
+     */
+    void push(T state) {
+        if (size > 0 && entry(cursor) == state) {
+            return;
+        }
+
+        if (ordinals != null && !isConstant(state)) {
+            switchToValues();
+        }
+
+        if (size > 0) {
+            size = cursor + 1;
+        }
+
+        if (size == capacity) {
+            start = (start + 1) % capacity;
+            size--;
+        }
+
+        write((start + size) % capacity, state);
+        size++;
+        cursor = size - 1;
+    }
+
+    /**
+     * move one step back in the history
+     *
+     * @return the previous state, or {@code null} if there is no previous state
+     */
+    T undo() {
+        if (cursor == 0 || size == 0) {
+            return null;
+        }
+        return entry(--cursor);
+    }
+
+    /**
+     * move one step forward in the history, this is available only after {@link #undo()}
+     *
+     * @return the next state, or {@code null} if there is no next state
+     */
+    T redo() {
+        if (cursor >= size - 1) {
+            return null;
+        }
+        return entry(++cursor);
+    }
+
+    boolean canUndo() {
+        return cursor > 0;
+    }
+
+    boolean canRedo() {
+        return cursor < size - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T entry(int position) {
+        int index = (start + position) % capacity;
+        if (ordinals != null) {
+            return constants[ordinals[index]];
+        } else {
+            return (T) values[index];
+        }
+    }
+
+    private void write(int index, T state) {
+        if (ordinals != null) {
+            ordinals[index] = ((Enum<?>) state).ordinal();
+        } else {
+            values[index] = state;
+        }
+    }
+
+    private boolean isConstant(T state) {
+        return state instanceof Enum
+                && ((Enum<?>) state).getDeclaringClass().equals(constants.getClass().getComponentType());
+    }
+
+    private void switchToValues() {
+        values = new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            values[i] = constants[ordinals[i]];
+        }
+        ordinals = null;
+        constants = null;
+    }
+
+}
@@ -0,0 +1,81 @@
+package io.reactivex.properties;
+
+
+import io.reactivex.annotations.NonNull;
+
+/**
+ * the tracing hooks of the library, when a {@link Tracer} is installed through
+ * {@link #setTracer(Tracer)}, it receives the duration of every {@link Property#set(Object)},
+ * of notifying the subscribers of every {@link Property}, and of every hook invocation, this
+ * is useful to find the slow {@link Property} or the slow subscriber behind a latency spike
+ * <p>
+ * tracing is disabled by default, while disabled, the cost is one volatile read per traced
+ * step (every {@link Property#set(Object)}, every rate limited notification, and every
+ * {@code onGet} invocation), no time is measured and nothing is allocated
+ */
+public final class Tracing
+{
+
+    private static volatile Tracer tracer;
+
+    private Tracing() {
+    }
+
+    /**
+     * install a {@link Tracer} for all the {@link Property} instances
+     *
+     * @param tracer the {@link Tracer}, or {@code null} to disable tracing
+     */
+    public static void setTracer(Tracer tracer) {
+        Tracing.tracer = tracer;
+    }
+
+    /**
+     * @return the installed {@link Tracer}, or {@code null} if tracing is disabled
+     */
+    public static Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * receives the events traced by the {@link Property} instances, the methods are invoked
+     * on the thread that did the traced operation, so they should return quickly, like
+     * committing an event to a profiler (for example a JDK Flight Recorder event on JDK 11
+     * and above)
+     * <p>
+     * the traced {@link Property} is passed as it is, the {@link Property} instances of a
+     * {@link PropertyRegistry} return their key or id from {@link Object#toString()}
+     */
+    public interface Tracer
+    {
+        /**
+         * invoked after {@link Property#set(Object)} finishes
+         *
+         * @param property      the {@link Property}
+         * @param durationNanos the duration of the whole set, including the hooks and
+         *                      notifying the subscribers
+         */
+        void onPropertySet(@NonNull Property<?> property, long durationNanos);
+
+        /**
+         * invoked after the subscribers of {@link Property#asObservable()} are notified
+         *
+         * @param property      the {@link Property}
+         * @param subscribers   the number of the notified subscribers
+         * @param durationNanos the duration of notifying all the subscribers
+         */
+        void onEmitterFanOut(@NonNull Property<?> property, int subscribers, long durationNanos);
+
+        /**
+         * invoked after a hook of a {@link Property} is invoked
+         *
+         * @param property      the {@link Property}
+         * @param hook          the name of the hook, one of {@code "onSet"} (including the
+         *                      filters), {@code "onGet"} and {@code "onUpdate"}
+         * @param durationNanos the duration of the hook
+         */
+        void onHookInvocation(@NonNull Property<?> property, @NonNull String hook,
+                              long durationNanos);
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.reactivex.properties.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import io.reactivex.properties.Property;
+
+/**
+ * marks a {@link Property} field to be handled by the generated companion Class of it's
+ * enclosing Class, for a Class named {@code MainViewModel}, the annotation processor generates
+ * {@code MainViewModel_RxProperties} with the static methods {@code clearAll()},
+ * {@code snapshot()}, {@code restore()} and {@code subscribeAll()}, which invoke the
+ * annotated fields directly without reflection
+ * <p>
+ * the annotated fields must not be {@code private}, since the generated Class accesses
+ * them from the same package
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface RxProperty
+{
+}
@@ -5,8 +5,16 @@ import junit.framework.Assert;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import io.reactivex.annotations.NonNull;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
 import io.reactivex.properties.exceptions.ConsumedException;
 
 /**
@@ -70,4 +78,152 @@ public class ConsumableTest
         });
         Assert.assertNull(consumable.get());
     }
-}
\ No newline at end of file
+
+    @Test(timeout = 30000)
+    public void consumeFromMultipleThreadsAndDeliverEveryValueExactlyOnce() throws Exception {
+        final int threads = 8;
+        final int values = 20000;
+        final Consumable<Integer> consumable = new Consumable<>();
+        final AtomicInteger consumed = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(new Runnable()
+            {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        while (consumed.get() < values) {
+                            try {
+                                consumable.consume();
+                                consumed.incrementAndGet();
+                            } catch (ConsumedException e) {
+                                Thread.yield();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        start.countDown();
+        for (int i = 0; i < values; i++) {
+            while (!consumable.isEmpty()) {
+                Thread.yield();
+            }
+            consumable.set(i);
+        }
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        Assert.assertEquals(values, consumed.get());
+        Assert.assertNull(consumable.get());
+    }
+
+    @Test
+    public void asObservableWithTwoSubscribersEmitsValueToOnlyOneOfThem() throws Exception {
+        Consumable<String> consumable = new Consumable<>();
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        consumable.asObservable().subscribe(addTo(first));
+        consumable.asObservable().subscribe(addTo(second));
+
+        consumable.set("hello");
+
+        Assert.assertEquals(1, first.size() + second.size());
+        Assert.assertNull(consumable.get());
+    }
+
+    @Test
+    public void asObservableWithoutActiveSubscribersKeepsValueForNextSubscriber() throws Exception {
+        Consumable<String> consumable = new Consumable<>();
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        Disposable disposable = consumable.asObservable().subscribe(addTo(first));
+        disposable.dispose();
+
+        consumable.set("hello");
+        consumable.asObservable().subscribe(addTo(second));
+
+        Assert.assertEquals(0, first.size());
+        Assert.assertEquals(1, second.size());
+    }
+
+    @Test
+    public void asObservableWithSubscribersChurnDeliversEveryValueOnce() throws Exception {
+        Consumable<Integer> consumable = new Consumable<>();
+        List<Integer> result = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            consumable.set(i);
+            Disposable disposable = consumable.asObservable().subscribe(addTo(result));
+            if (i % 2 == 0) {
+                disposable.dispose();
+            }
+        }
+
+        Assert.assertEquals(100, result.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(Integer.valueOf(i), result.get(i));
+        }
+    }
+
+    @Test
+    public void asObservableInvokesOnGetOncePerValue() throws Exception {
+        final AtomicInteger onGetCount = new AtomicInteger();
+        Consumable<String> consumable = new Consumable<>();
+        consumable.onGet(new Function<String, String>()
+        {
+            @Override
+            public String apply(@NonNull String s) throws Exception {
+                onGetCount.incrementAndGet();
+                return s;
+            }
+        });
+        List<String> result = new ArrayList<>();
+        consumable.asObservable().subscribe(addTo(result));
+        consumable.asObservable().subscribe(addTo(result));
+
+        consumable.set("A");
+        consumable.set("B");
+
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals(2, onGetCount.get());
+    }
+
+    @Test
+    public void asObservableWithReplayLatestEmitsTheStoredValueOnce() throws Exception {
+        Consumable<String> consumable = new Consumable<>("hello");
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+
+        consumable.asObservable(Replay.latest()).subscribe(addTo(first));
+        consumable.asObservable(Replay.none()).subscribe(addTo(second));
+        consumable.set("world");
+
+        Assert.assertEquals(2, first.size() + second.size());
+        Assert.assertEquals("hello", first.get(0));
+        Assert.assertNull(consumable.get());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void asObservableWithReplayOfManyValuesThrowsUnsupportedOperationException()
+            throws Exception {
+        new Consumable<String>().asObservable(Replay.last(2));
+    }
+
+    private <T> Consumer<T> addTo(final List<T> result) {
+        return new Consumer<T>()
+        {
+            @Override
+            public void accept(@NonNull T value) throws Exception {
+                result.add(value);
+            }
+        };
+    }
+}
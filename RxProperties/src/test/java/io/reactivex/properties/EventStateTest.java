@@ -0,0 +1,335 @@
+package io.reactivex.properties;
+
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.annotations.NonNull;
+import io.reactivex.functions.BiPredicate;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Predicate;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.properties.exceptions.InvocationException;
+import io.reactivex.properties.exceptions.StateIsMovingToNullException;
+import io.reactivex.properties.exceptions.StateNotValidToMoveException;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EventStateTest
+{
+
+    @Test
+    public void handleEventWithTransitionAndMoveToTargetState() throws Exception {
+        EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.LOGIN, Action.SUBMIT, Screen.HOME);
+        state.handle(Action.SUBMIT);
+        assertEquals(Screen.HOME, state.get());
+    }
+
+    @Test
+    public void handleEventWithoutTransitionAndKeepCurrentState() throws Exception {
+        EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.HOME, Action.SUBMIT, Screen.SETTINGS);
+        state.handle(Action.SUBMIT);
+        assertEquals(Screen.LOGIN, state.get());
+    }
+
+    @Test
+    public void handleEventWithGuardsAndUseFirstAllowedTransition() throws Exception {
+        EventState<Screen, Action> state = new EventState<>(Screen.HOME);
+        state.transition(Screen.HOME, Action.SUBMIT, Screen.LOGIN, reject())
+                .transition(Screen.HOME, Action.SUBMIT, Screen.SETTINGS, accept());
+        state.handle(Action.SUBMIT);
+        assertEquals(Screen.SETTINGS, state.get());
+    }
+
+    @Test
+    public void handleEventAndInvokeExitThenEnterActions() throws Exception {
+        final List<String> actions = new ArrayList<>();
+        EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.LOGIN, Action.SUBMIT, Screen.HOME)
+                .onExit(Screen.LOGIN, record(actions, "exit"))
+                .onEnter(Screen.HOME, record(actions, "enter"));
+
+        state.handle(Action.SUBMIT);
+
+        assertEquals(2, actions.size());
+        assertEquals("exit SUBMIT", actions.get(0));
+        assertEquals("enter SUBMIT", actions.get(1));
+    }
+
+    @Test(expected = InvocationException.class)
+    public void handleEventWithCrashingGuardAndThrowInvocationException() throws Exception {
+        EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.LOGIN, Action.SUBMIT, Screen.HOME, new BiPredicate<Screen, Action>()
+        {
+            @Override
+            public boolean test(@NonNull Screen screen, @NonNull Action action) throws Exception {
+                throw new UnsupportedOperationException();
+            }
+        });
+        state.handle(Action.SUBMIT);
+    }
+
+    @Test
+    public void handleEventsFromObservableThroughEventsConsumer() throws Exception {
+        PublishSubject<Action> events = PublishSubject.create();
+        EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.LOGIN, Action.SUBMIT, Screen.HOME)
+                .transition(Screen.HOME, Action.OPEN_SETTINGS, Screen.SETTINGS);
+
+        events.subscribe(state.events());
+        events.onNext(Action.SUBMIT);
+        events.onNext(Action.OPEN_SETTINGS);
+
+        assertEquals(Screen.SETTINGS, state.get());
+    }
+
+    @Test
+    public void handleEventsAndStillSupportNextAndBack() throws Exception {
+        EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.HOME, Action.OPEN_SETTINGS, Screen.SETTINGS);
+        state.next();
+        state.handle(Action.OPEN_SETTINGS);
+        state.back();
+        assertEquals(Screen.HOME, state.get());
+    }
+
+    @Test
+    public void handleEventsFromMultipleThreadsInSerializedModeWithoutLosingEvents()
+            throws Exception {
+        final int threads = 8;
+        final int eventsPerThread = 10000;
+        final AtomicInteger toggles = new AtomicInteger();
+        final EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.LOGIN, Action.SUBMIT, Screen.HOME)
+                .transition(Screen.HOME, Action.SUBMIT, Screen.LOGIN)
+                .onEnter(Screen.HOME, count(toggles))
+                .onEnter(Screen.LOGIN, count(toggles))
+                .serialized();
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(new Runnable()
+            {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int j = 0; j < eventsPerThread; j++) {
+                            state.handle(Action.SUBMIT);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        start.countDown();
+        done.await();
+
+        assertEquals(threads * eventsPerThread, toggles.get());
+        assertTrue(state.get() == Screen.LOGIN);
+    }
+
+    @Test
+    public void handleEventRejectedByFilterAndSkipExitAndEnterActions() throws Exception {
+        final List<String> actions = new ArrayList<>();
+        EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.LOGIN, Action.SUBMIT, Screen.HOME)
+                .onExit(Screen.LOGIN, record(actions, "exit"))
+                .onEnter(Screen.HOME, record(actions, "enter"));
+        state.filter(new Predicate<Screen>()
+        {
+            @Override
+            public boolean test(@NonNull Screen screen) throws Exception {
+                return screen != Screen.HOME;
+            }
+        });
+
+        state.handle(Action.SUBMIT);
+
+        assertEquals(Screen.LOGIN, state.get());
+        assertTrue(actions.isEmpty());
+    }
+
+    @Test(expected = InvocationException.class)
+    public void handleEventInSerializedModeAndThrowItsOwnFailure() throws Exception {
+        EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.LOGIN, Action.SUBMIT, Screen.HOME)
+                .onEnter(Screen.HOME, crash())
+                .serialized();
+
+        state.handle(Action.SUBMIT);
+    }
+
+    @Test
+    public void handleEventInSerializedModeAfterAnErrorEscapedAndKeepHandlingEvents()
+            throws Exception {
+        EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+        state.transition(Screen.LOGIN, Action.SUBMIT, Screen.HOME)
+                .transition(Screen.HOME, Action.OPEN_SETTINGS, Screen.SETTINGS)
+                .serialized();
+        state.addSetListener(new SetListeners.Listener<Screen>()
+        {
+            @Override
+            public void onSet(Screen screen) {
+                if (screen == Screen.HOME) {
+                    throw new NoClassDefFoundError("fatal errors are rethrown by set()");
+                }
+            }
+        });
+
+        try {
+            state.handle(Action.SUBMIT);
+            fail();
+        } catch (NoClassDefFoundError expected) {
+            // the drain must be released anyway
+        }
+        state.handle(Action.OPEN_SETTINGS);
+
+        assertEquals(Screen.SETTINGS, state.get());
+    }
+
+    @Test
+    public void handleEventInSerializedModeAndReportFailuresOfOtherEventsToRxJavaPlugins()
+            throws Exception {
+        final List<Throwable> errors = new ArrayList<>();
+        RxJavaPlugins.setErrorHandler(new Consumer<Throwable>()
+        {
+            @Override
+            public void accept(@NonNull Throwable e) throws Exception {
+                errors.add(e);
+            }
+        });
+        try {
+            final EventState<Screen, Action> state = new EventState<>(Screen.LOGIN);
+            state.transition(Screen.LOGIN, Action.SUBMIT, Screen.HOME)
+                    .transition(Screen.HOME, Action.OPEN_SETTINGS, Screen.SETTINGS)
+                    .onEnter(Screen.HOME, new Consumer<Action>()
+                    {
+                        @Override
+                        public void accept(@NonNull Action action) throws Exception {
+                            state.handle(Action.OPEN_SETTINGS);
+                        }
+                    })
+                    .onEnter(Screen.SETTINGS, crash())
+                    .serialized();
+
+            state.handle(Action.SUBMIT);
+
+            assertEquals(Screen.SETTINGS, state.get());
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0).getCause() instanceof InvocationException);
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
+    private Consumer<Action> crash() {
+        return new Consumer<Action>()
+        {
+            @Override
+            public void accept(@NonNull Action action) throws Exception {
+                throw new IllegalStateException(action.toString());
+            }
+        };
+    }
+
+    private BiPredicate<Screen, Action> accept() {
+        return new BiPredicate<Screen, Action>()
+        {
+            @Override
+            public boolean test(@NonNull Screen screen, @NonNull Action action) throws Exception {
+                return true;
+            }
+        };
+    }
+
+    private BiPredicate<Screen, Action> reject() {
+        return new BiPredicate<Screen, Action>()
+        {
+            @Override
+            public boolean test(@NonNull Screen screen, @NonNull Action action) throws Exception {
+                return false;
+            }
+        };
+    }
+
+    private Consumer<Action> record(final List<String> actions, final String prefix) {
+        return new Consumer<Action>()
+        {
+            @Override
+            public void accept(@NonNull Action action) throws Exception {
+                actions.add(prefix + " " + action);
+            }
+        };
+    }
+
+    private Consumer<Action> count(final AtomicInteger counter) {
+        return new Consumer<Action>()
+        {
+            @Override
+            public void accept(@NonNull Action action) throws Exception {
+                counter.incrementAndGet();
+            }
+        };
+    }
+
+    enum Action
+    {
+        SUBMIT, OPEN_SETTINGS
+    }
+
+    enum Screen implements SwitchableState<Screen>
+    {
+        LOGIN
+                {
+                    @Override
+                    public Screen next() {
+                        return HOME;
+                    }
+
+                    @Override
+                    public Screen back() {
+                        throw new StateIsMovingToNullException();
+                    }
+                },
+        HOME
+                {
+                    @Override
+                    public Screen next() {
+                        return SETTINGS;
+                    }
+
+                    @Override
+                    public Screen back() {
+                        return LOGIN;
+                    }
+                },
+        SETTINGS
+                {
+                    @Override
+                    public Screen next() {
+                        throw new StateNotValidToMoveException();
+                    }
+
+                    @Override
+                    public Screen back() {
+                        return HOME;
+                    }
+                }
+    }
+
+}
@@ -0,0 +1,169 @@
+package io.reactivex.properties;
+
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.functions.Consumer;
+import io.reactivex.properties.exceptions.InvocationException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapPropertyTest
+{
+
+    @Test
+    public void setBytesAndGetSameBytes() throws Exception {
+        OffHeapProperty<byte[]> property = new OffHeapProperty<>(OffHeapProperty.BYTE_ARRAY);
+        property.set(new byte[]{1, 2, 3});
+        assertArrayEquals(new byte[]{1, 2, 3}, property.get());
+        assertEquals(3, property.size());
+    }
+
+    @Test
+    public void viewIsDirectAndReadOnly() throws Exception {
+        OffHeapProperty<byte[]> property =
+                new OffHeapProperty<>(OffHeapProperty.BYTE_ARRAY, new byte[]{1, 2, 3});
+        ByteBuffer view = property.view();
+        assertTrue(view.isDirect());
+        assertTrue(view.isReadOnly());
+        assertEquals(3, view.remaining());
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void writeToViewAndThrowReadOnlyBufferException() throws Exception {
+        OffHeapProperty<ByteBuffer> property = new OffHeapProperty<>(OffHeapProperty.BYTE_BUFFER);
+        property.set(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        property.get().put(0, (byte) 5);
+    }
+
+    @Test
+    public void setSmallerValueAndReuseTheSameBuffer() throws Exception {
+        OffHeapProperty<byte[]> property = new OffHeapProperty<>(OffHeapProperty.BYTE_ARRAY);
+        property.set(new byte[1024]);
+        property.set(new byte[]{7});
+        ByteBuffer view = property.view();
+
+        assertEquals(1, view.remaining());
+        assertEquals(7, view.get(0));
+        assertEquals(1024, view.capacity());
+    }
+
+    @Test
+    public void setWhileObservedWithCopyingCodecAndReuseTheSameBuffer() throws Exception {
+        OffHeapProperty<byte[]> property =
+                new OffHeapProperty<>(OffHeapProperty.BYTE_ARRAY, new byte[1024]);
+        property.asObservable().test();
+        for (byte i = 0; i < 10; i++) {
+            property.set(new byte[]{i});
+        }
+        ByteBuffer view = property.view();
+
+        assertEquals(9, view.get(0));
+        assertEquals(1024, view.capacity());
+    }
+
+    @Test
+    public void setAfterGetAndKeepTheBytesOfTheReturnedView() throws Exception {
+        OffHeapProperty<ByteBuffer> property = new OffHeapProperty<>(OffHeapProperty.BYTE_BUFFER);
+        property.set(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        ByteBuffer first = property.get();
+        property.set(ByteBuffer.wrap(new byte[]{4, 5, 6}));
+        property.set(ByteBuffer.wrap(new byte[]{7, 8, 9}));
+
+        assertEquals(1, first.get(0));
+        assertEquals(7, property.get().get(0));
+    }
+
+    @Test
+    public void setWithFailingCodecIntoNewBufferAndKeepThePreviousValue() throws Exception {
+        OffHeapProperty<byte[]> property = new OffHeapProperty<>(failingOnNegativeBytes());
+        property.set(new byte[]{3, 4});
+        property.view();
+
+        try {
+            property.set(new byte[]{-1, -2});
+            fail();
+        } catch (InvocationException e) {
+            assertArrayEquals(new byte[]{3, 4}, property.get());
+        }
+    }
+
+    @Test
+    public void setWithFailingCodecIntoReusedBufferAndBecomeEmpty() throws Exception {
+        OffHeapProperty<byte[]> property = new OffHeapProperty<>(failingOnNegativeBytes());
+        property.set(new byte[]{3, 4});
+
+        try {
+            property.set(new byte[]{-1, -2});
+            fail();
+        } catch (InvocationException e) {
+            assertTrue(property.isEmpty());
+        }
+    }
+
+    private OffHeapProperty.Codec<byte[]> failingOnNegativeBytes() {
+        return new OffHeapProperty.Codec<byte[]>()
+        {
+            @Override
+            public int sizeOf(byte[] object) {
+                return object.length;
+            }
+
+            @Override
+            public void encode(byte[] object, ByteBuffer buffer) throws Exception {
+                buffer.put(object, 0, 1);
+                if (object[0] < 0) {
+                    throw new IllegalArgumentException("negative");
+                }
+                buffer.put(object, 1, object.length - 1);
+            }
+
+            @Override
+            public byte[] decode(ByteBuffer buffer) throws Exception {
+                return OffHeapProperty.BYTE_ARRAY.decode(buffer);
+            }
+
+            @Override
+            public boolean sharesView() {
+                return false;
+            }
+        };
+    }
+
+    @Test
+    public void clearReleasesTheValue() throws Exception {
+        OffHeapProperty<byte[]> property =
+                new OffHeapProperty<>(OffHeapProperty.BYTE_ARRAY, new byte[]{1});
+        property.clear();
+        assertTrue(property.isEmpty());
+        assertNull(property.get());
+        assertNull(property.view());
+    }
+
+    @Test
+    public void asObservableEmitsDecodedValues() throws Exception {
+        OffHeapProperty<byte[]> property =
+                new OffHeapProperty<>(OffHeapProperty.BYTE_ARRAY, new byte[]{1});
+        final List<byte[]> result = new ArrayList<>();
+        property.asObservable().subscribe(new Consumer<byte[]>()
+        {
+            @Override
+            public void accept(byte[] bytes) throws Exception {
+                result.add(bytes);
+            }
+        });
+        property.set(new byte[]{2});
+
+        assertEquals(2, result.size());
+        assertArrayEquals(new byte[]{2}, result.get(1));
+    }
+}
@@ -0,0 +1,426 @@
+package io.reactivex.properties;
+
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.annotations.NonNull;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.BiFunction;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+import io.reactivex.functions.Predicate;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.properties.exceptions.InvocationException;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class PropertiesTest
+{
+
+    @Test
+    public void clearAllWithSchedulerClearsValuesImmediatelyAndCompletesLater() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        List<Property<?>> properties = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Property<Integer> property = new Property<>(i);
+            subscribe(property, completed);
+            properties.add(property);
+        }
+        Consumable<String> consumable = new Consumable<>("A");
+        subscribe(consumable, completed);
+        properties.add(consumable);
+
+        TestScheduler scheduler = new TestScheduler();
+        Properties.clearAll(properties, scheduler);
+
+        assertNull(properties.get(0).get());
+        assertEquals(0, completed.get());
+
+        scheduler.triggerActions();
+        assertEquals(11, completed.get());
+    }
+
+    @Test
+    public void clearAllWithoutSchedulerCompletesImmediately() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        List<Property<?>> properties = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Property<Integer> property = new Property<>(i);
+            subscribe(property, completed);
+            properties.add(property);
+        }
+
+        Properties.clearAll(properties);
+
+        assertEquals(10, completed.get());
+    }
+
+    @Test
+    public void combineTwoPropertiesAndUpdateOnEverySet() throws Exception {
+        Property<Integer> first = new Property<>(1);
+        Property<Integer> second = new Property<>(2);
+        Property<Integer> sum = Properties.combine(first, second, sum());
+
+        assertEquals(Integer.valueOf(3), sum.get());
+        first.set(10);
+        assertEquals(Integer.valueOf(12), sum.get());
+        second.set(20);
+        assertEquals(Integer.valueOf(30), sum.get());
+    }
+
+    @Test
+    public void combineWithNullSourceAndWaitUntilAllSourcesHaveValues() throws Exception {
+        Property<Integer> first = new Property<>(1);
+        Property<Integer> second = new Property<>();
+        Property<Integer> sum = Properties.combine(first, second, sum());
+
+        assertNull(sum.get());
+        second.set(5);
+        assertEquals(Integer.valueOf(6), sum.get());
+    }
+
+    @Test
+    public void combineManyPropertiesAndNotifyObservers() throws Exception {
+        List<Property<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            sources.add(new Property<>(i));
+        }
+        Property<Integer> sum = Properties.combine(sources, new Function<Object[], Integer>()
+        {
+            @Override
+            public Integer apply(@NonNull Object[] values) throws Exception {
+                int sum = 0;
+                for (Object value : values) {
+                    sum += (Integer) value;
+                }
+                return sum;
+            }
+        });
+        Property<Integer> observer = new Property<>();
+        sum.asObservable().subscribe(observer);
+
+        sources.get(7).set(100);
+
+        assertEquals(Integer.valueOf(28 - 7 + 100), observer.get());
+    }
+
+    @Test
+    public void combineThenClearAndStopListeningToSources() throws Exception {
+        Property<Integer> first = new Property<>(1);
+        Property<Integer> second = new Property<>(2);
+        Property<Integer> sum = Properties.combine(first, second, sum());
+
+        sum.clear();
+        first.set(10);
+
+        assertNull(sum.get());
+    }
+
+    @Test
+    public void combineThenClearSourceAndKeepListeningToIt() throws Exception {
+        Property<Integer> first = new Property<>(1);
+        Property<Integer> second = new Property<>(2);
+        Property<Integer> sum = Properties.combine(first, second, sum());
+
+        first.clear();
+        first.set(10);
+
+        assertEquals(Integer.valueOf(12), sum.get());
+    }
+
+    @Test
+    public void combineWithFailingCombinerAndKeepTheSourceAndItsSubscribers() throws Exception {
+        Property<Integer> first = new Property<>(1);
+        Property<Integer> second = new Property<>(2);
+        TestObserver<Integer> firstObserver = first.asObservable().test();
+        Property<Integer> sum = Properties.combine(Arrays.asList(first, second),
+                new Function<Object[], Integer>()
+                {
+                    @Override
+                    public Integer apply(@NonNull Object[] values) throws Exception {
+                        if (values[0].equals(5)) {
+                            throw new IllegalStateException();
+                        }
+                        return (Integer) values[0] + (Integer) values[1];
+                    }
+                });
+        TestObserver<Integer> sumObserver = sum.asObservable().test();
+
+        first.set(5);
+
+        assertEquals(Integer.valueOf(5), first.get());
+        firstObserver.assertValues(1, 5);
+        sumObserver.assertValues(3);
+        sumObserver.assertError(InvocationException.class);
+    }
+
+    @Test
+    public void combineAndNotifyTheSourceSubscribersFirst() throws Exception {
+        final List<String> notifications = new ArrayList<>();
+        Property<Integer> first = new Property<>(1);
+        Property<Integer> second = new Property<>(2);
+        Property<Integer> sum = Properties.combine(first, second, sum());
+        first.asObservable().skip(1).subscribe(record(notifications, "first"));
+        sum.asObservable().skip(1).subscribe(record(notifications, "sum"));
+
+        first.set(10);
+
+        assertEquals(Arrays.asList("first 10", "sum 12"), notifications);
+    }
+
+    @Test
+    public void combineIgnoresValuesRejectedByFilter() throws Exception {
+        final List<Integer> results = new ArrayList<>();
+        Property<Integer> first = new Property<>(1);
+        Property<Integer> second = new Property<>(2);
+        second.filter(new Predicate<Integer>()
+        {
+            @Override
+            public boolean test(@NonNull Integer value) throws Exception {
+                return value > 0;
+            }
+        });
+        Property<Integer> sum = Properties.combine(Arrays.asList(first, second),
+                new Function<Object[], Integer>()
+                {
+                    @Override
+                    public Integer apply(@NonNull Object[] values) throws Exception {
+                        int result = (Integer) values[0] + (Integer) values[1];
+                        results.add(result);
+                        return result;
+                    }
+                });
+
+        second.set(-1);
+
+        assertEquals(1, results.size());
+        assertEquals(Integer.valueOf(3), sum.get());
+    }
+
+    @Test
+    public void bindAndSyncInitialValueThenPropagateInBothDirections() throws Exception {
+        Property<Integer> celsius = new Property<>(100);
+        Property<Integer> fahrenheit = new Property<>();
+        Properties.bind(celsius, fahrenheit, toFahrenheit(), toCelsius());
+
+        assertEquals(Integer.valueOf(212), fahrenheit.get());
+        fahrenheit.set(32);
+        assertEquals(Integer.valueOf(0), celsius.get());
+        celsius.set(10);
+        assertEquals(Integer.valueOf(50), fahrenheit.get());
+    }
+
+    @Test
+    public void bindAndNotifyEachPropertyOncePerChange() throws Exception {
+        final AtomicInteger celsiusUpdates = new AtomicInteger();
+        final AtomicInteger fahrenheitUpdates = new AtomicInteger();
+        Property<Integer> celsius = new Property<>();
+        Property<Integer> fahrenheit = new Property<>();
+        celsius.onUpdate(count(celsiusUpdates));
+        fahrenheit.onUpdate(count(fahrenheitUpdates));
+        Properties.bind(celsius, fahrenheit, toFahrenheit(), toCelsius());
+
+        celsius.set(10);
+        fahrenheit.set(32);
+
+        assertEquals(2, celsiusUpdates.get());
+        assertEquals(2, fahrenheitUpdates.get());
+    }
+
+    @Test
+    public void bindThenDisposeAndStopPropagating() throws Exception {
+        Property<Integer> celsius = new Property<>(0);
+        Property<Integer> fahrenheit = new Property<>();
+        Disposable binding = Properties.bind(celsius, fahrenheit, toFahrenheit(), toCelsius());
+
+        binding.dispose();
+        celsius.set(100);
+        fahrenheit.set(0);
+
+        assertEquals(Integer.valueOf(100), celsius.get());
+        assertEquals(Integer.valueOf(0), fahrenheit.get());
+    }
+
+    @Test
+    public void bindThenClearOneSideAndKeepPropagating() throws Exception {
+        Property<Integer> celsius = new Property<>(0);
+        Property<Integer> fahrenheit = new Property<>();
+        Disposable binding = Properties.bind(celsius, fahrenheit, toFahrenheit(), toCelsius());
+
+        fahrenheit.clear();
+        celsius.set(100);
+        fahrenheit.set(32);
+
+        assertFalse(binding.isDisposed());
+        assertEquals(Integer.valueOf(0), celsius.get());
+        assertEquals(Integer.valueOf(32), fahrenheit.get());
+    }
+
+    @Test
+    public void bindWithFailingConverterAndPassTheFailureToTheOtherProperty() throws Exception {
+        Property<Integer> celsius = new Property<>(0);
+        Property<Integer> fahrenheit = new Property<>();
+        Properties.bind(celsius, fahrenheit, new Function<Integer, Integer>()
+        {
+            @Override
+            public Integer apply(@NonNull Integer value) throws Exception {
+                if (value < 0) {
+                    throw new IllegalArgumentException();
+                }
+                return value * 9 / 5 + 32;
+            }
+        }, toCelsius());
+        TestObserver<Integer> fahrenheitObserver = fahrenheit.asObservable().test();
+
+        celsius.set(-1);
+
+        assertEquals(Integer.valueOf(-1), celsius.get());
+        fahrenheitObserver.assertValues(32);
+        fahrenheitObserver.assertError(InvocationException.class);
+    }
+
+    private Consumer<Integer> record(final List<String> notifications, final String name) {
+        return new Consumer<Integer>()
+        {
+            @Override
+            public void accept(@NonNull Integer value) throws Exception {
+                notifications.add(name + " " + value);
+            }
+        };
+    }
+
+    private Function<Integer, Integer> toFahrenheit() {
+        return new Function<Integer, Integer>()
+        {
+            @Override
+            public Integer apply(@NonNull Integer celsius) throws Exception {
+                return celsius * 9 / 5 + 32;
+            }
+        };
+    }
+
+    private Function<Integer, Integer> toCelsius() {
+        return new Function<Integer, Integer>()
+        {
+            @Override
+            public Integer apply(@NonNull Integer fahrenheit) throws Exception {
+                return (fahrenheit - 32) * 5 / 9;
+            }
+        };
+    }
+
+    private Consumer<Integer> count(final AtomicInteger counter) {
+        return new Consumer<Integer>()
+        {
+            @Override
+            public void accept(@NonNull Integer value) throws Exception {
+                counter.incrementAndGet();
+            }
+        };
+    }
+
+    private BiFunction<Integer, Integer, Integer> sum() {
+        return new BiFunction<Integer, Integer, Integer>()
+        {
+            @Override
+            public Integer apply(@NonNull Integer first, @NonNull Integer second) throws Exception {
+                return first + second;
+            }
+        };
+    }
+
+    private <T> void subscribe(Property<T> property, final AtomicInteger completed) {
+        property.asObservable().subscribe(new Consumer<T>()
+        {
+            @Override
+            public void accept(T value) throws Exception {
+                // do nothing
+            }
+        }, new Consumer<Throwable>()
+        {
+            @Override
+            public void accept(Throwable throwable) throws Exception {
+                // do nothing
+            }
+        }, new Action()
+        {
+            @Override
+            public void run() throws Exception {
+                completed.incrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    public void parallelMapLargeListAndSetMappedItemsInOrder() throws Exception {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            items.add(i);
+        }
+        Property<List<Integer>> source = new Property<>(items);
+        Property<List<String>> target = new Property<>();
+
+        Properties.parallelMap(source, new Function<Integer, String>()
+        {
+            @Override
+            public String apply(@NonNull Integer item) throws Exception {
+                return String.valueOf(item);
+            }
+        }, target, new ForkJoinPool(4));
+
+        assertEquals(10000, target.get().size());
+        assertEquals("0", target.get().get(0));
+        assertEquals("9999", target.get().get(9999));
+    }
+
+    @Test
+    public void parallelFilterLargeListAndKeepAcceptedItemsInOrder() throws Exception {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            items.add(i);
+        }
+        Property<List<Integer>> source = new Property<>(items);
+        Property<List<Integer>> target = new Property<>();
+
+        Properties.parallelFilter(source, new Predicate<Integer>()
+        {
+            @Override
+            public boolean test(@NonNull Integer item) throws Exception {
+                return item % 2 == 0;
+            }
+        }, target);
+
+        assertEquals(5000, target.get().size());
+        assertEquals(Integer.valueOf(9998), target.get().get(4999));
+    }
+
+    @Test
+    public void parallelMapWithFailingMapperAndKeepTargetValue() throws Exception {
+        Property<List<Integer>> source = new Property<>(Arrays.asList(1, 2, 3));
+        Property<List<Integer>> target = new Property<>(Arrays.asList(0));
+
+        try {
+            Properties.parallelMap(source, new Function<Integer, Integer>()
+            {
+                @Override
+                public Integer apply(@NonNull Integer item) throws Exception {
+                    throw new IllegalStateException();
+                }
+            }, target);
+        } catch (IllegalStateException e) {
+            assertEquals(Arrays.asList(0), target.get());
+            return;
+        }
+        throw new AssertionError("mapper exception was not thrown");
+    }
+}
@@ -0,0 +1,198 @@
+package io.reactivex.properties;
+
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PropertyRegistryTest
+{
+
+    @Test
+    public void propertyCreatesOnFirstAccessAndReturnsSameInstanceLater() throws Exception {
+        PropertyRegistry<Boolean> registry = new PropertyRegistry<>();
+        assertFalse(registry.contains("flag"));
+
+        Property<Boolean> property = registry.property("flag");
+
+        assertTrue(registry.contains("flag"));
+        assertNull(property.get());
+        assertSame(property, registry.property("flag"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void propertyByIdAndByKeyAreDifferentProperties() throws Exception {
+        PropertyRegistry<Integer> registry = new PropertyRegistry<>();
+        assertNotSame(registry.property(1L), registry.property("1"));
+        assertSame(registry.property(1L), registry.property(1L));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void propertyWithManyKeysKeepsAllProperties() throws Exception {
+        PropertyRegistry<Integer> registry = new PropertyRegistry<>();
+        for (int i = 0; i < 100000; i++) {
+            registry.property(i).set(i);
+        }
+
+        assertEquals(100000, registry.size());
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(Integer.valueOf(i), registry.property(i).get());
+        }
+    }
+
+    @Test
+    public void propertyFromMultipleThreadsCreatesOneInstancePerKey() throws Exception {
+        final PropertyRegistry<Integer> registry = new PropertyRegistry<>();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(new Runnable()
+            {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (long id = 0; id < 10000; id++) {
+                            registry.property(id);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        start.countDown();
+        done.await();
+
+        assertEquals(10000, registry.size());
+    }
+
+    @Test
+    public void changesEmitsValuesSetToAnyRegisteredProperty() throws Exception {
+        PropertyRegistry<String> registry = new PropertyRegistry<>();
+        final List<PropertyRegistry.Change<String>> changes = new ArrayList<>();
+        Disposable disposable = registry.changes().subscribe(
+                new Consumer<PropertyRegistry.Change<String>>()
+                {
+                    @Override
+                    public void accept(PropertyRegistry.Change<String> change) throws Exception {
+                        changes.add(change);
+                    }
+                });
+
+        registry.property("first").set("A");
+        registry.property(7L).set("B");
+        disposable.dispose();
+        registry.property("first").set("C");
+
+        assertEquals(2, changes.size());
+        assertEquals("first", changes.get(0).key());
+        assertFalse(changes.get(0).hasId());
+        assertEquals("A", changes.get(0).value());
+        assertNull(changes.get(1).key());
+        assertTrue(changes.get(1).hasId());
+        assertEquals(7L, changes.get(1).id());
+    }
+
+    @Test
+    public void clearRemovesAndClearsAllProperties() throws Exception {
+        PropertyRegistry<String> registry = new PropertyRegistry<>();
+        Property<String> property = registry.property("first");
+        property.set("A");
+
+        registry.clear();
+
+        assertNull(property.get());
+        assertEquals(0, registry.size());
+        assertFalse(registry.contains("first"));
+    }
+
+    @Test
+    public void shardedRegistryKeepsPropertiesAndMergesChangesOfAllShards() throws Exception {
+        PropertyRegistry<Long> registry = new PropertyRegistry<>(6);
+        final List<PropertyRegistry.Change<Long>> changes = new ArrayList<>();
+        registry.changes().subscribe(new Consumer<PropertyRegistry.Change<Long>>()
+        {
+            @Override
+            public void accept(PropertyRegistry.Change<Long> change) throws Exception {
+                changes.add(change);
+            }
+        });
+
+        for (long id = 0; id < 1000; id++) {
+            registry.property(id).set(id);
+        }
+
+        assertEquals(1000, registry.size());
+        assertEquals(1000, changes.size());
+        for (long id = 0; id < 1000; id++) {
+            assertEquals(Long.valueOf(id), registry.property(id).get());
+        }
+    }
+
+    @Test
+    public void shardedRegistrySetFromMultipleThreadsEmitsEveryChange() throws Exception {
+        final PropertyRegistry<Integer> registry = new PropertyRegistry<>(8);
+        final int threads = 8;
+        final int setsPerThread = 10000;
+        final List<PropertyRegistry.Change<Integer>> changes = new ArrayList<>();
+        registry.changes().subscribe(new Consumer<PropertyRegistry.Change<Integer>>()
+        {
+            @Override
+            public void accept(PropertyRegistry.Change<Integer> change) throws Exception {
+                changes.add(change);
+            }
+        });
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            final String key = "thread-" + i;
+            new Thread(new Runnable()
+            {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        Property<Integer> property = registry.property(key);
+                        for (int j = 0; j < setsPerThread; j++) {
+                            property.set(j);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        start.countDown();
+        done.await();
+
+        assertEquals(threads * setsPerThread, changes.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shardedRegistryWithInvalidShardsCountAndThrowIllegalArgumentException() {
+        new PropertyRegistry<Integer>(0);
+    }
+}
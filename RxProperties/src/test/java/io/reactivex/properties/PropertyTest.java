@@ -4,15 +4,30 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
 import io.reactivex.annotations.NonNull;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Action;
+import io.reactivex.functions.BiFunction;
 import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
 import io.reactivex.functions.Predicate;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -407,4 +422,901 @@ public class PropertyTest
         assertNull(property.getType().blockingGet());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void setValueAndIncreaseVersion() throws Exception {
+        Property<String> property = new Property<>();
+        long version = property.version();
+        assertFalse(property.changedSince(version));
+
+        property.set("A");
+
+        assertTrue(property.changedSince(version));
+        assertEquals(version + 1, property.version());
+    }
+
+    @Test
+    public void setValueRejectedByFilterAndKeepVersion() throws Exception {
+        Property<Integer> property = new Property<>(0);
+        property.filter(new Predicate<Integer>()
+        {
+            @Override
+            public boolean test(@NonNull Integer integer) throws Exception {
+                return integer > 0;
+            }
+        });
+        long version = property.version();
+
+        property.set(-1);
+
+        assertFalse(property.changedSince(version));
+    }
+
+    @Test
+    public void getStampedReturnsValueWithCurrentVersion() throws Exception {
+        Property<String> property = new Property<>();
+        property.set("A");
+        property.set("B");
+
+        Stamped<String> stamped = property.getStamped();
+
+        assertEquals("B", stamped.value());
+        assertEquals(property.version(), stamped.version());
+        assertFalse(property.changedSince(stamped.version()));
+    }
+
+    @Test
+    public void clearAndIncreaseVersion() throws Exception {
+        Property<String> property = new Property<>("A");
+        long version = property.version();
+        property.clear();
+        assertTrue(property.changedSince(version));
+    }
+
+    @Test
+    public void awaitChangeWithoutChangeAndReturnFalseAfterTimeout() throws Exception {
+        Property<String> property = new Property<>("A");
+        assertFalse(property.awaitChange(property.version(), 10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void awaitChangeAfterVersionChangedAndReturnImmediately() throws Exception {
+        Property<String> property = new Property<>("A");
+        long version = property.version();
+        property.set("B");
+        assertTrue(property.awaitChange(version, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void awaitChangeAndWakeUpWhenSetFromAnotherThread() throws Exception {
+        final Property<String> property = new Property<>("A");
+        long version = property.version();
+        new Thread(new Runnable()
+        {
+            @Override
+            public void run() {
+                property.set("B");
+            }
+        }).start();
+
+        assertTrue(property.awaitChange(version, 10, TimeUnit.SECONDS));
+        assertEquals("B", property.get());
+    }
+
+    @Test
+    public void nextChangeAndEmitTheNextValueSet() throws Exception {
+        Property<String> property = new Property<>("A");
+        TestObserver<String> observer = property.nextChange().test();
+        observer.assertNoValues();
+
+        property.set("B");
+        property.set("C");
+
+        observer.assertResult("B");
+    }
+
+    @Test
+    public void nextChangeThenClearAndEmitNullPointerException() throws Exception {
+        Property<String> property = new Property<>("A");
+        TestObserver<String> observer = property.nextChange().test();
+        property.clear();
+        observer.assertError(NullPointerException.class);
+    }
+
+    @Test
+    public void asObservableFromIterableWithChunksAndEmitItemsInChunks() throws Exception {
+        Property<List<Integer>> property = new Property<>(Arrays.asList(1, 2, 3, 4, 5));
+        TestObserver<List<Integer>> observer =
+                property.asObservableFromIterable(Integer.class, 2).test();
+
+        observer.assertValueSequence(Arrays.<List<Integer>>asList(
+                Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)));
+        observer.assertNotComplete();
+    }
+
+    @Test
+    public void asObservableFromIterableWithChunksAndReStreamOnSet() throws Exception {
+        Property<List<Integer>> property = new Property<>(Arrays.asList(1, 2));
+        TestObserver<List<Integer>> observer =
+                property.asObservableFromIterable(Integer.class, 10).test();
+
+        property.set(Arrays.asList(3, 4, 5));
+
+        observer.assertValueSequence(Arrays.<List<Integer>>asList(
+                Arrays.asList(1, 2), Arrays.asList(3, 4, 5)));
+    }
+
+    @Test
+    public void asObservableFromIterableWithChunksAndCancelPreviousIteration() throws Exception {
+        final Property<List<Integer>> property = new Property<>(Arrays.asList(1, 2, 3, 4));
+        final List<List<Integer>> result = new ArrayList<>();
+        property.asObservableFromIterable(Integer.class, 1)
+                .subscribe(new Consumer<List<Integer>>()
+                {
+                    @Override
+                    public void accept(List<Integer> chunk) throws Exception {
+                        result.add(chunk);
+                        if (chunk.get(0) == 1) {
+                            property.set(Arrays.asList(10, 20));
+                        }
+                    }
+                });
+
+        assertEquals(Arrays.asList(Arrays.asList(1), Arrays.asList(10), Arrays.asList(20)),
+                result);
+    }
+
+    @Test
+    public void asObservableFromIterableWithChunksOnNonIterableAndEmitError() throws Exception {
+        Property<Object> property = new Property<Object>("A");
+        property.asObservableFromIterable(Integer.class, 2)
+                .test()
+                .assertError(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void debounceAndNotifyLastValueAfterTimeout() throws Exception {
+        TestScheduler scheduler = new TestScheduler();
+        Property<Integer> property = new Property<>();
+        property.debounce(100, TimeUnit.MILLISECONDS, scheduler);
+        TestObserver<Integer> observer = property.asObservable().test();
+
+        property.set(1);
+        property.set(2);
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        property.set(3);
+        scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        observer.assertNoValues();
+        assertEquals(Integer.valueOf(3), property.get());
+
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        observer.assertValues(3);
+    }
+
+    @Test
+    public void throttleFirstAndIgnoreValuesInWindow() throws Exception {
+        TestScheduler scheduler = new TestScheduler();
+        final List<Integer> updates = new ArrayList<>();
+        Property<Integer> property = new Property<>();
+        property.throttleFirst(100, TimeUnit.MILLISECONDS, scheduler);
+        property.onUpdate(new Consumer<Integer>()
+        {
+            @Override
+            public void accept(Integer value) throws Exception {
+                updates.add(value);
+            }
+        });
+
+        property.set(1);
+        property.set(2);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        property.set(3);
+
+        assertEquals(Arrays.asList(1, 3), updates);
+    }
+
+    @Test
+    public void throttleLatestAndNotifyLastValueWhenWindowEnds() throws Exception {
+        TestScheduler scheduler = new TestScheduler();
+        Property<Integer> property = new Property<>();
+        property.throttleLatest(100, TimeUnit.MILLISECONDS, scheduler);
+        TestObserver<Integer> observer = property.asObservable().test();
+
+        property.set(1);
+        property.set(2);
+        property.set(3);
+        observer.assertValues(1);
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertValues(1, 3);
+    }
+
+    @Test
+    public void sampleAndNotifyOncePerPeriod() throws Exception {
+        TestScheduler scheduler = new TestScheduler();
+        Property<Integer> property = new Property<>();
+        property.sample(100, TimeUnit.MILLISECONDS, scheduler);
+        TestObserver<Integer> observer = property.asObservable().test();
+
+        property.set(1);
+        property.set(2);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        property.set(3);
+        scheduler.advanceTimeBy(300, TimeUnit.MILLISECONDS);
+
+        observer.assertValues(2, 3);
+    }
+
+    @Test
+    public void debounceAndKeepVersionUpdatedImmediately() throws Exception {
+        TestScheduler scheduler = new TestScheduler();
+        Property<Integer> property = new Property<>();
+        property.debounce(100, TimeUnit.MILLISECONDS, scheduler);
+        long version = property.version();
+
+        property.set(1);
+
+        assertTrue(property.changedSince(version));
+    }
+
+    @Test
+    public void debounceThenClearAndCancelPendingNotification() throws Exception {
+        TestScheduler scheduler = new TestScheduler();
+        Property<Integer> property = new Property<>();
+        property.debounce(100, TimeUnit.MILLISECONDS, scheduler);
+        TestObserver<Integer> observer = property.asObservable().test();
+
+        property.set(1);
+        property.clear();
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        observer.assertResult();
+    }
+
+    @Test
+    public void sampleOnSchedulerWhileSubscribingAndDisposingFromAnotherThread()
+            throws Exception {
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        RxJavaPlugins.setErrorHandler(new Consumer<Throwable>()
+        {
+            @Override
+            public void accept(@NonNull Throwable e) throws Exception {
+                errors.add(e);
+            }
+        });
+        try {
+            final Property<Integer> property = new Property<>(0);
+            property.sample(1, TimeUnit.MICROSECONDS, Schedulers.computation());
+            final long end = System.currentTimeMillis() + 500;
+            Thread setter = new Thread(new Runnable()
+            {
+                @Override
+                public void run() {
+                    for (int i = 0; System.currentTimeMillis() < end; i++) {
+                        property.set(i);
+                    }
+                }
+            });
+            setter.start();
+            List<Disposable> subscriptions = new ArrayList<>();
+            while (System.currentTimeMillis() < end) {
+                for (int i = 0; i < 200; i++) {
+                    subscriptions.add(property.asObservable().subscribe());
+                }
+                for (Disposable subscription : subscriptions) {
+                    subscription.dispose();
+                }
+                subscriptions.clear();
+            }
+            setter.join();
+            property.clear();
+
+            assertTrue(errors.toString(), errors.isEmpty());
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void setAsyncWithoutHookAndSetValueImmediately() throws Exception {
+        Property<String> property = new Property<>();
+        property.setAsync("A").test().assertResult("A");
+        assertEquals("A", property.get());
+    }
+
+    @Test
+    public void setAsyncWithHookAndSetValueWhenSingleEmits() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        Property<String> property = new Property<>("A");
+        property.onSetAsync(new BiFunction<String, String, Single<String>>()
+        {
+            @Override
+            public Single<String> apply(String oldValue, String newValue) throws Exception {
+                return Single.just(oldValue + newValue).delay(10, TimeUnit.MILLISECONDS, scheduler);
+            }
+        });
+
+        TestObserver<String> observer = property.setAsync("B").test();
+        assertEquals("A", property.get());
+
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+        observer.assertResult("AB");
+        assertEquals("AB", property.get());
+    }
+
+    @Test
+    public void setAsyncTwiceAndCommitOnlyLatestValue() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        Property<String> property = new Property<>("A");
+        property.onSetAsync(new BiFunction<String, String, Single<String>>()
+        {
+            @Override
+            public Single<String> apply(String oldValue, String newValue) throws Exception {
+                long delay = newValue.equals("B") ? 20 : 10;
+                return Single.just(newValue).delay(delay, TimeUnit.MILLISECONDS, scheduler);
+            }
+        });
+
+        TestObserver<String> first = property.setAsync("B").test();
+        TestObserver<String> second = property.setAsync("C").test();
+        scheduler.advanceTimeBy(30, TimeUnit.MILLISECONDS);
+
+        first.assertError(CancellationException.class);
+        second.assertResult("C");
+        assertEquals("C", property.get());
+    }
+
+    @Test
+    public void setAsyncTwiceWhileCommittingAndCancelTheOverwrittenCommit() throws Exception {
+        final Property<String> property = new Property<>();
+        final List<TestObserver<String>> nested = new ArrayList<>();
+        property.onUpdate(new Consumer<String>()
+        {
+            @Override
+            public void accept(@NonNull String value) throws Exception {
+                if (value.equals("A")) {
+                    nested.add(property.setAsync("B").test());
+                    nested.add(property.setAsync("C").test());
+                }
+            }
+        });
+
+        property.setAsync("A").test().assertResult("A");
+
+        nested.get(0).assertError(CancellationException.class);
+        nested.get(1).assertResult("C");
+        assertEquals("C", property.get());
+    }
+
+    @Test
+    public void setAsyncThenClearAndCancelPendingSet() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        Property<String> property = new Property<>("A");
+        property.onSetAsync(new BiFunction<String, String, Single<String>>()
+        {
+            @Override
+            public Single<String> apply(String oldValue, String newValue) throws Exception {
+                return Single.just(newValue).delay(10, TimeUnit.MILLISECONDS, scheduler);
+            }
+        });
+
+        TestObserver<String> observer = property.setAsync("B").test();
+        property.clear();
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+
+        observer.assertError(CancellationException.class);
+        assertNull(property.get());
+    }
+
+    @Test
+    public void getAsyncWithHookAndEmitHookValue() throws Exception {
+        Property<String> property = new Property<>("a");
+        property.onGetAsync(new Function<String, Single<String>>()
+        {
+            @Override
+            public Single<String> apply(String value) throws Exception {
+                return Single.just(value.toUpperCase());
+            }
+        });
+
+        property.getAsync().test().assertResult("A");
+        assertEquals("a", property.get());
+    }
+
+    @Test
+    public void addFiltersAndAcceptValuesPassingAllFilters() throws Exception {
+        Property<Integer> property = new Property<>(0);
+        property.filter(new Predicate<Integer>()
+        {
+            @Override
+            public boolean test(@NonNull Integer value) throws Exception {
+                return value > 0;
+            }
+        });
+        property.addFilter(new Predicate<Integer>()
+        {
+            @Override
+            public boolean test(@NonNull Integer value) throws Exception {
+                return value % 2 == 0;
+            }
+        });
+
+        property.set(-2);
+        property.set(3);
+        assertEquals(Integer.valueOf(0), property.get());
+
+        property.set(4);
+        assertEquals(Integer.valueOf(4), property.get());
+    }
+
+    @Test
+    public void addOnSetHooksAndInvokeThemInOrder() throws Exception {
+        Property<String> property = new Property<>("");
+        property.addOnSet(appendOnSet("1"));
+        property.addOnSet(appendOnSet("2"));
+
+        property.set("A");
+
+        assertEquals("A12", property.get());
+    }
+
+    @Test
+    public void addOnSetThenDisposeAndRemoveOnlyThisHook() throws Exception {
+        Property<String> property = new Property<>("");
+        Disposable first = property.addOnSet(appendOnSet("1"));
+        property.addOnSet(appendOnSet("2"));
+
+        first.dispose();
+        property.set("A");
+
+        assertTrue(first.isDisposed());
+        assertEquals("A2", property.get());
+    }
+
+    @Test
+    public void addOnGetAndOnUpdateAndInvokeThemAfterSingleHooks() throws Exception {
+        final List<String> updates = new ArrayList<>();
+        Property<String> property = new Property<>("a");
+        property.onGet(new Function<String, String>()
+        {
+            @Override
+            public String apply(@NonNull String value) throws Exception {
+                return value + "1";
+            }
+        });
+        property.addOnGet(new Function<String, String>()
+        {
+            @Override
+            public String apply(@NonNull String value) throws Exception {
+                return value.toUpperCase();
+            }
+        });
+        property.addOnUpdate(new Consumer<String>()
+        {
+            @Override
+            public void accept(String value) throws Exception {
+                updates.add(value);
+            }
+        });
+
+        property.set("b");
+
+        assertEquals("B1", property.get());
+        assertEquals(Arrays.asList("b"), updates);
+    }
+
+    private BiFunction<String, String, String> appendOnSet(final String suffix) {
+        return new BiFunction<String, String, String>()
+        {
+            @Override
+            public String apply(String oldValue, String newValue) throws Exception {
+                return newValue + suffix;
+            }
+        };
+    }
+
+    @Test
+    public void asObservableWithFilterAndMapperAndEmitOnlyAcceptedMappedValues() throws Exception {
+        Property<Integer> property = new Property<>(2);
+        TestObserver<String> observer = property.asObservable(isEven(), toText()).test();
+
+        property.set(3);
+        property.set(4);
+
+        observer.assertValues("2", "4");
+    }
+
+    @Test
+    public void asObservableWithFailingMapperAndErrorOnlyThisSubscriber() throws Exception {
+        Property<Integer> property = new Property<>();
+        TestObserver<Integer> failing = property.asObservable(isEven(),
+                new Function<Integer, Integer>()
+                {
+                    @Override
+                    public Integer apply(@NonNull Integer value) throws Exception {
+                        throw new IllegalStateException();
+                    }
+                }).test();
+        TestObserver<String> mapped = property.asObservable(isEven(), toText()).test();
+        TestObserver<Integer> all = property.asObservable().test();
+
+        property.set(2);
+        property.set(3);
+
+        failing.assertError(IllegalStateException.class);
+        mapped.assertValues("2");
+        all.assertValues(2, 3);
+    }
+
+    private Predicate<Integer> isEven() {
+        return new Predicate<Integer>()
+        {
+            @Override
+            public boolean test(@NonNull Integer value) throws Exception {
+                return value % 2 == 0;
+            }
+        };
+    }
+
+    private Function<Integer, String> toText() {
+        return new Function<Integer, String>()
+        {
+            @Override
+            public String apply(@NonNull Integer value) throws Exception {
+                return String.valueOf(value);
+            }
+        };
+    }
+
+    @Test
+    public void asObservableWithReplayNoneAndSkipCurrentValue() throws Exception {
+        Property<Integer> property = new Property<>(1);
+        TestObserver<Integer> observer = property.asObservable(Replay.none()).test();
+
+        observer.assertNoValues();
+        property.set(2);
+        observer.assertValues(2);
+    }
+
+    @Test
+    public void asObservableWithReplayLatestAndEmitCurrentValue() throws Exception {
+        Property<Integer> property = new Property<>(1);
+        property.asObservable(Replay.latest()).test().assertValues(1);
+    }
+
+    @Test
+    public void asObservableWithReplayLastAndEmitRecentValuesToLateSubscriber() throws Exception {
+        Property<Integer> property = new Property<>();
+        property.asObservable(Replay.last(3)).test();
+        for (int i = 1; i <= 5; i++) {
+            property.set(i);
+        }
+
+        property.asObservable(Replay.last(3)).test().assertValues(3, 4, 5);
+        property.asObservable(Replay.last(2)).test().assertValues(4, 5);
+    }
+
+    @Test
+    public void asObservableWithReplayLastAndStartWithCurrentValue() throws Exception {
+        Property<Integer> property = new Property<>(7);
+        property.asObservable(Replay.last(3)).test().assertValues(7);
+        property.set(8);
+
+        property.asObservable(Replay.last(3)).test().assertValues(7, 8);
+    }
+
+    @Test
+    public void asObservableWithReplayLastThenClearAndReleaseRecordedValues() throws Exception {
+        Property<Integer> property = new Property<>();
+        property.asObservable(Replay.last(3)).test();
+        property.set(1);
+        property.clear();
+
+        property.asObservable(Replay.last(3)).test().assertNoValues();
+    }
+
+    @Test
+    public void replayBufferGrowAndKeepRecordedValues() throws Exception {
+        ReplayBuffer<Integer> buffer = new ReplayBuffer<>(2);
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        buffer.ensureCapacity(4);
+        buffer.add(4);
+
+        assertEquals(Arrays.asList(2, 3, 4), buffer.last(4));
+    }
+
+    @Test
+    public void onSlowSubscriberWithBlockingSubscriberAndReportIt() throws Exception {
+        final List<Long> reports = new ArrayList<>();
+        Property<Integer> property = new Property<>();
+        property.onSlowSubscriber(5, TimeUnit.MILLISECONDS, recordSlowSubscribers(reports));
+        property.asObservable().subscribe(sleepOnFirstValue(20));
+        property.asObservable().test();
+
+        property.set(1);
+        property.set(2);
+
+        assertEquals(1, reports.size());
+        assertTrue(reports.get(0) >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    public void isolateSlowSubscribersAndKeepFastSubscribersSynchronous() throws Exception {
+        TestScheduler scheduler = new TestScheduler();
+        final List<Long> reports = new ArrayList<>();
+        Property<Integer> property = new Property<>();
+        property.isolateSlowSubscribers(5, TimeUnit.MILLISECONDS,
+                recordSlowSubscribers(reports), scheduler, 2);
+        final List<Integer> slowValues = new ArrayList<>();
+        property.asObservable().doOnNext(new Consumer<Integer>()
+        {
+            @Override
+            public void accept(Integer value) throws Exception {
+                slowValues.add(value);
+            }
+        }).subscribe(sleepOnFirstValue(20));
+        TestObserver<Integer> fast = property.asObservable().test();
+
+        property.set(1);
+        property.set(2);
+        property.set(3);
+        property.set(4);
+
+        fast.assertValues(1, 2, 3, 4);
+        assertEquals(Arrays.asList(1), slowValues);
+
+        scheduler.triggerActions();
+        assertEquals(Arrays.asList(1, 3, 4), slowValues);
+        assertEquals(1, reports.size());
+    }
+
+    @Test
+    public void isolateSlowSubscribersThenClearAndCompleteAfterQueuedValues() throws Exception {
+        TestScheduler scheduler = new TestScheduler();
+        Property<Integer> property = new Property<>();
+        property.isolateSlowSubscribers(5, TimeUnit.MILLISECONDS, null, scheduler, 10);
+        TestObserver<Integer> slow = property.asObservable()
+                .doOnNext(sleepOnFirstValue(20))
+                .test();
+
+        property.set(1);
+        property.set(2);
+        property.clear();
+        slow.assertNotComplete();
+
+        scheduler.triggerActions();
+        slow.assertResult(1, 2);
+    }
+
+    private SlowSubscriberListener recordSlowSubscribers(final List<Long> reports) {
+        return new SlowSubscriberListener()
+        {
+            @Override
+            public void onSlowSubscriber(@NonNull Property<?> property, long durationNanos,
+                                         boolean isolated) {
+                reports.add(durationNanos);
+            }
+        };
+    }
+
+    private Consumer<Integer> sleepOnFirstValue(final long millis) {
+        return new Consumer<Integer>()
+        {
+            private boolean slept;
+
+            @Override
+            public void accept(Integer value) throws Exception {
+                if (!slept) {
+                    slept = true;
+                    Thread.sleep(millis);
+                }
+            }
+        };
+    }
+
+    @Test
+    public void setNullWithPropagatePolicyAndEndSubscribers() throws Exception {
+        Property<String> property = new Property<>();
+        TestObserver<String> observer = property.asObservable().test();
+
+        property.set(null);
+
+        observer.assertError(NullPointerException.class);
+    }
+
+    @Test
+    public void setNullWithSideChannelPolicyAndKeepSubscribersActive() throws Exception {
+        Property<String> property = new Property<>();
+        property.errorPolicy(ErrorPolicy.SIDE_CHANNEL);
+        TestObserver<String> observer = property.asObservable().test();
+        TestObserver<Throwable> errors = property.errors().test();
+
+        property.set(null);
+        property.set("A");
+
+        observer.assertNoErrors();
+        observer.assertValues("A");
+        errors.assertValueCount(1);
+        assertTrue(errors.values().get(0) instanceof NullPointerException);
+    }
+
+    @Test
+    public void failingOnGetWithSideChannelPolicyAndEmitErrorToErrors() throws Exception {
+        Property<String> property = new Property<>();
+        property.errorPolicy(ErrorPolicy.SIDE_CHANNEL);
+        property.onGet(new Function<String, String>()
+        {
+            @Override
+            public String apply(@NonNull String value) throws Exception {
+                if (value.equals("B")) {
+                    throw new IllegalStateException();
+                }
+                return value;
+            }
+        });
+        TestObserver<String> observer = property.asObservable().test();
+        TestObserver<Throwable> errors = property.errors().test();
+
+        property.set("A");
+        property.set("B");
+        property.set("C");
+
+        observer.assertValues("A", "C");
+        errors.assertValueCount(1);
+        assertTrue(errors.values().get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void setNullWithSideChannelPolicyAndKeepLastErrorUntilErrorsIsSubscribed()
+            throws Exception {
+        final List<Throwable> pluginErrors = new ArrayList<>();
+        RxJavaPlugins.setErrorHandler(new Consumer<Throwable>()
+        {
+            @Override
+            public void accept(@NonNull Throwable e) throws Exception {
+                pluginErrors.add(e);
+            }
+        });
+        try {
+            Property<String> property = new Property<>();
+            property.errorPolicy(ErrorPolicy.SIDE_CHANNEL);
+            property.asObservable().test();
+
+            property.set(null);
+            property.set(null);
+
+            assertTrue(pluginErrors.isEmpty());
+            property.errors().test().assertValueCount(1);
+            property.errors().test().assertNoValues();
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void clearAndCompleteErrorsSubscribers() throws Exception {
+        Property<String> property = new Property<>();
+        TestObserver<Throwable> errors = property.errors().test();
+        property.clear();
+        errors.assertResult();
+    }
+
+    @Test
+    public void setAsyncFromConcurrentThreadsAndTerminateEverySingle() throws Exception {
+        final Property<Integer> property = new Property<>();
+        property.onSetAsync(new BiFunction<Integer, Integer, Single<Integer>>()
+        {
+            @Override
+            public Single<Integer> apply(Integer oldValue, Integer newValue) throws Exception {
+                return Single.just(newValue).delay(1, TimeUnit.MILLISECONDS);
+            }
+        });
+
+        final List<TestObserver<Integer>> observers = new CopyOnWriteArrayList<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t * 1000;
+            Thread thread = new Thread(new Runnable()
+            {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 200; i++) {
+                        observers.add(property.setAsync(offset + i).test());
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (TestObserver<Integer> observer : observers) {
+            assertTrue(observer.await(5, TimeUnit.SECONDS));
+            if (observer.errorCount() != 0) {
+                observer.assertError(CancellationException.class);
+            }
+        }
+        TestObserver<Integer> last = property.setAsync(-1).test();
+        assertTrue(last.await(5, TimeUnit.SECONDS));
+        last.assertResult(-1);
+        assertEquals(Integer.valueOf(-1), property.get());
+    }
+
+    @Test
+    public void isolateSlowSubscribersThenClearAllAndCompleteAfterQueuedValues() throws Exception {
+        TestScheduler laneScheduler = new TestScheduler();
+        TestScheduler completionScheduler = new TestScheduler();
+        Property<Integer> property = new Property<>();
+        property.isolateSlowSubscribers(5, TimeUnit.MILLISECONDS, null, laneScheduler, 10);
+        TestObserver<Integer> slow = property.asObservable()
+                .doOnNext(sleepOnFirstValue(20))
+                .test();
+
+        property.set(1);
+        property.set(2);
+        property.set(3);
+        Properties.clearAll(Collections.singletonList(property), completionScheduler);
+        completionScheduler.triggerActions();
+        laneScheduler.triggerActions();
+
+        slow.assertResult(1, 2, 3);
+    }
+
+    @Test
+    public void isolateSlowSubscribersThenDisposeAndReleaseLaneWorker() throws Exception {
+        CountingScheduler scheduler = new CountingScheduler();
+        Property<Integer> property = new Property<>();
+        property.isolateSlowSubscribers(5, TimeUnit.MILLISECONDS, null, scheduler, 10);
+        Disposable disposable = property.asObservable().subscribe(sleepOnFirstValue(20));
+
+        property.set(1);
+        disposable.dispose();
+
+        assertEquals(1, scheduler.created.get());
+        assertEquals(1, scheduler.disposed.get());
+    }
+
+    private static class CountingScheduler extends Scheduler
+    {
+        final TestScheduler scheduler = new TestScheduler();
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger disposed = new AtomicInteger();
+
+        @Override
+        public Worker createWorker() {
+            created.incrementAndGet();
+            final Worker worker = scheduler.createWorker();
+            return new Worker()
+            {
+                @Override
+                public Disposable schedule(@NonNull Runnable run, long delay,
+                                           @NonNull TimeUnit unit) {
+                    return worker.schedule(run, delay, unit);
+                }
+
+                @Override
+                public void dispose() {
+                    if (!worker.isDisposed()) {
+                        disposed.incrementAndGet();
+                    }
+                    worker.dispose();
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return worker.isDisposed();
+                }
+            };
+        }
+    }
+}
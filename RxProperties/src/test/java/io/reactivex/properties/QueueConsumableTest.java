@@ -0,0 +1,242 @@
+package io.reactivex.properties;
+
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Consumer;
+import io.reactivex.properties.exceptions.ConsumedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class QueueConsumableTest
+{
+
+    @Test
+    public void setMultipleValuesAndConsumeThemInOrder() throws Exception {
+        QueueConsumable<String> consumable = new QueueConsumable<>(10);
+        consumable.set("A");
+        consumable.set("B");
+        assertEquals("A", consumable.consume());
+        assertEquals("B", consumable.get());
+        assertNull(consumable.get());
+    }
+
+    @Test(expected = ConsumedException.class)
+    public void consumeEmptyQueueAndThrowConsumedException() throws Exception {
+        QueueConsumable<String> consumable = new QueueConsumable<>(10);
+        consumable.set("A");
+        consumable.consume();
+        consumable.consume();
+    }
+
+    @Test
+    public void setWhileFullWithDropOldestAndKeepNewestValues() throws Exception {
+        QueueConsumable<Integer> consumable = new QueueConsumable<>(2);
+        consumable.set(1);
+        consumable.set(2);
+        consumable.set(3);
+        assertEquals(2, consumable.size());
+        assertEquals(Integer.valueOf(2), consumable.get());
+        assertEquals(Integer.valueOf(3), consumable.get());
+    }
+
+    @Test
+    public void setWhileFullWithDropNewestAndKeepOldestValues() throws Exception {
+        QueueConsumable<Integer> consumable =
+                new QueueConsumable<>(2, QueueConsumable.Overflow.DROP_NEWEST);
+        consumable.set(1);
+        consumable.set(2);
+        consumable.set(3);
+        assertEquals(Integer.valueOf(1), consumable.get());
+        assertEquals(Integer.valueOf(2), consumable.get());
+        assertTrue(consumable.isEmpty());
+    }
+
+    @Test
+    public void drainToConsumerAndEmptyTheQueue() throws Exception {
+        QueueConsumable<Integer> consumable = new QueueConsumable<>(10);
+        consumable.set(1);
+        consumable.set(2);
+        consumable.set(3);
+
+        List<Integer> result = new ArrayList<>();
+        int count = consumable.drainTo(addTo(result));
+
+        assertEquals(3, count);
+        assertEquals(3, result.size());
+        assertTrue(consumable.isEmpty());
+    }
+
+    @Test
+    public void asObservableEmitsValuesQueuedBeforeSubscribing() throws Exception {
+        QueueConsumable<Integer> consumable = new QueueConsumable<>(10);
+        consumable.set(1);
+        consumable.set(2);
+
+        List<Integer> result = new ArrayList<>();
+        consumable.asObservable().subscribe(addTo(result));
+
+        assertEquals(2, result.size());
+        assertTrue(consumable.isEmpty());
+    }
+
+    @Test
+    public void asObservableWithTwoSubscribersEmitsEveryValueOnlyOnce() throws Exception {
+        QueueConsumable<Integer> consumable = new QueueConsumable<>(10);
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        consumable.asObservable().subscribe(addTo(first));
+        consumable.asObservable().subscribe(addTo(second));
+
+        for (int i = 0; i < 10; i++) {
+            consumable.set(i);
+        }
+
+        assertEquals(10, first.size() + second.size());
+        assertEquals(5, first.size());
+    }
+
+    @Test
+    public void asObservableAfterDisposingKeepsValuesInQueue() throws Exception {
+        QueueConsumable<Integer> consumable = new QueueConsumable<>(10);
+        List<Integer> result = new ArrayList<>();
+        Disposable disposable = consumable.asObservable().subscribe(addTo(result));
+        consumable.set(1);
+        disposable.dispose();
+        consumable.set(2);
+
+        assertEquals(1, result.size());
+        assertEquals(Integer.valueOf(2), consumable.get());
+    }
+
+    @Test
+    public void setWhileFullWithBlockAndWaitUntilValueIsConsumed() throws Exception {
+        final QueueConsumable<Integer> consumable =
+                new QueueConsumable<>(2, QueueConsumable.Overflow.BLOCK);
+        consumable.set(1);
+        consumable.set(2);
+        Thread producer = new Thread(new Runnable()
+        {
+            @Override
+            public void run() {
+                consumable.set(3);
+            }
+        });
+        producer.start();
+
+        producer.join(100);
+        assertTrue(producer.isAlive());
+        assertEquals(2, consumable.size());
+
+        assertEquals(Integer.valueOf(1), consumable.get());
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertEquals(Integer.valueOf(2), consumable.get());
+        assertEquals(Integer.valueOf(3), consumable.get());
+    }
+
+    @Test
+    public void setFromConcurrentProducersAndEmitEveryValueOnce() throws Exception {
+        final QueueConsumable<Integer> consumable =
+                new QueueConsumable<>(16, QueueConsumable.Overflow.BLOCK);
+        final Set<Integer> result = Collections.newSetFromMap(
+                new ConcurrentHashMap<Integer, Boolean>());
+        final AtomicInteger emitted = new AtomicInteger();
+        consumable.asObservable().subscribe(new Consumer<Integer>()
+        {
+            @Override
+            public void accept(Integer value) throws Exception {
+                result.add(value);
+                emitted.incrementAndGet();
+            }
+        });
+
+        final int producers = 4;
+        final int values = 5000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(producers);
+        for (int i = 0; i < producers; i++) {
+            final int offset = i * values;
+            new Thread(new Runnable()
+            {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int value = offset; value < offset + values; value++) {
+                            consumable.set(value);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(producers * values, emitted.get());
+        assertEquals(producers * values, result.size());
+        assertTrue(consumable.isEmpty());
+    }
+
+    @Test
+    public void disposeWhileEmittingFromAnotherThreadAndKeepTheOrder() throws Exception {
+        final QueueConsumable<Integer> consumable =
+                new QueueConsumable<>(4, QueueConsumable.Overflow.BLOCK);
+        final List<Integer> result = Collections.synchronizedList(new ArrayList<Integer>());
+        final int values = 20000;
+        final CountDownLatch done = new CountDownLatch(1);
+        new Thread(new Runnable()
+        {
+            @Override
+            public void run() {
+                try {
+                    for (int value = 0; value < values; value++) {
+                        consumable.set(value);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }
+        }).start();
+
+        while (done.getCount() != 0) {
+            consumable.asObservable().subscribe(addTo(result)).dispose();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        consumable.drainTo(addTo(result));
+
+        synchronized (result) {
+            for (int i = 1; i < result.size(); i++) {
+                assertTrue(result.get(i - 1) + " before " + result.get(i),
+                        result.get(i - 1) < result.get(i));
+            }
+        }
+    }
+
+    private Consumer<Integer> addTo(final List<Integer> result) {
+        return new Consumer<Integer>()
+        {
+            @Override
+            public void accept(Integer value) throws Exception {
+                result.add(value);
+            }
+        };
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.Test;
 import io.reactivex.properties.exceptions.StateIsMovingToNullException;
 import io.reactivex.properties.exceptions.StateNotValidToMoveException;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -61,6 +62,98 @@ public class StateTest
     }
 
 
+    @Test
+    public void undoAfterReachingStateFromDifferentPathReturnsToActualPreviousState()
+            throws Exception {
+        State<Step> state = new State<>(Step.FIRST).history(10);
+        state.set(Step.THIRD);
+        state.set(Step.SECOND);
+        state.undo();
+        assertTrue(state.get() == Step.THIRD);
+        state.undo();
+        assertTrue(state.get() == Step.FIRST);
+    }
+
+    @Test
+    public void redoAfterUndoReturnsToTheUndoneState() throws Exception {
+        State<Step> state = new State<>(Step.FIRST).history(10);
+        state.next();
+        state.next();
+        state.undo();
+        state.undo();
+        state.redo();
+        assertTrue(state.get() == Step.SECOND);
+        state.redo();
+        assertTrue(state.get() == Step.THIRD);
+        assertFalse(state.canRedo());
+    }
+
+    @Test
+    public void setAfterUndoDropsRedoStates() throws Exception {
+        State<Step> state = new State<>(Step.FIRST).history(10);
+        state.set(Step.SECOND);
+        state.undo();
+        state.set(Step.THIRD);
+        assertFalse(state.canRedo());
+        state.undo();
+        assertTrue(state.get() == Step.FIRST);
+    }
+
+    @Test
+    public void fullHistoryDropsOldestStates() throws Exception {
+        State<Step> state = new State<>(Step.FIRST).history(2);
+        state.set(Step.SECOND);
+        state.set(Step.THIRD);
+        state.undo();
+        assertTrue(state.get() == Step.SECOND);
+        assertFalse(state.canUndo());
+    }
+
+    @Test
+    public void undoWithNonEnumStates() throws Exception {
+        InitialState initialState = new InitialState();
+        State<InitialState> state = new State<>(initialState).history(5);
+        state.get().move = true;
+        state.next();
+        state.undo();
+        assertTrue(state.get() == initialState);
+    }
+
+    @Test(expected = StateIsMovingToNullException.class)
+    public void undoWithoutPreviousStatesAndThrowIsMovingToNullException() throws Exception {
+        State<Step> state = new State<>(Step.FIRST).history(5);
+        state.undo();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void undoWithoutHistoryAndThrowUnsupportedOperationException() throws Exception {
+        State<Step> state = new State<>(Step.FIRST);
+        state.set(Step.SECOND);
+        state.undo();
+    }
+
+    enum Step implements SwitchableState<Step>
+    {
+        FIRST, SECOND, THIRD;
+
+        @Override
+        public Step next() throws StateIsMovingToNullException, StateNotValidToMoveException {
+            if (ordinal() == values().length - 1) {
+                throw new StateIsMovingToNullException();
+            }
+            return values()[ordinal() + 1];
+        }
+
+        @Override
+        public Step back() throws StateIsMovingToNullException, StateNotValidToMoveException {
+            if (ordinal() == 0) {
+                throw new StateIsMovingToNullException();
+            }
+            return values()[ordinal() - 1];
+        }
+    }
+
+
     static class InitialState implements SwitchableState<InitialState>
     {
 
@@ -0,0 +1,110 @@
+package io.reactivex.properties;
+
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.annotations.NonNull;
+import io.reactivex.functions.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TracingTest
+{
+
+    @After
+    public void disableTracing() {
+        Tracing.setTracer(null);
+    }
+
+    @Test
+    public void setAfterRemovingTracerAndRecordNothing() throws Exception {
+        RecordingTracer tracer = new RecordingTracer();
+        Tracing.setTracer(tracer);
+        Tracing.setTracer(null);
+        Property<String> property = new Property<>();
+        property.asObservable().test();
+
+        property.set("A");
+
+        assertTrue(tracer.events.isEmpty());
+    }
+
+    @Test
+    public void setWithTracerAndRecordSetAndFanOut() throws Exception {
+        RecordingTracer tracer = new RecordingTracer();
+        Tracing.setTracer(tracer);
+        Property<String> property = new Property<>();
+        property.asObservable().test();
+        property.asObservable().test();
+
+        property.set("A");
+
+        assertEquals(2, tracer.events.size());
+        assertEquals("fanOut:2", tracer.events.get(0));
+        assertEquals("set", tracer.events.get(1));
+    }
+
+    @Test
+    public void getWithOnGetAndRecordHookInvocation() throws Exception {
+        RecordingTracer tracer = new RecordingTracer();
+        Property<String> property = new Property<>("a");
+        property.onGet(new Function<String, String>()
+        {
+            @Override
+            public String apply(@NonNull String value) throws Exception {
+                return value.toUpperCase();
+            }
+        });
+        Tracing.setTracer(tracer);
+
+        property.get();
+
+        assertEquals(1, tracer.events.size());
+        assertEquals("hook:onGet", tracer.events.get(0));
+    }
+
+    @Test
+    public void setRegisteredPropertyAndTraceItsKey() throws Exception {
+        RecordingTracer tracer = new RecordingTracer();
+        Tracing.setTracer(tracer);
+        PropertyRegistry<String> registry = new PropertyRegistry<>();
+
+        registry.property("user.name").set("A");
+
+        assertEquals("user.name", tracer.properties.get(0));
+    }
+
+    private static class RecordingTracer implements Tracing.Tracer
+    {
+        final List<String> events = new ArrayList<>();
+        final List<String> properties = new ArrayList<>();
+
+        @Override
+        public void onPropertySet(@NonNull Property<?> property, long durationNanos) {
+            record(property, "set", durationNanos);
+        }
+
+        @Override
+        public void onEmitterFanOut(@NonNull Property<?> property, int subscribers,
+                                    long durationNanos) {
+            record(property, "fanOut:" + subscribers, durationNanos);
+        }
+
+        @Override
+        public void onHookInvocation(@NonNull Property<?> property, @NonNull String hook,
+                                     long durationNanos) {
+            record(property, "hook:" + hook, durationNanos);
+        }
+
+        private void record(Property<?> property, String event, long durationNanos) {
+            assertTrue(durationNanos >= 0);
+            events.add(event);
+            properties.add(property.toString());
+        }
+    }
+}
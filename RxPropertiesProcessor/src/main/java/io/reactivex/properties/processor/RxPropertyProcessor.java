@@ -0,0 +1,276 @@
+package io.reactivex.properties.processor;
+
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * an annotation processor that generates a companion Class for every Class that has fields
+ * annotated with {@code @RxProperty}, the companion Class is named after the annotated Class
+ * with the {@code _RxProperties} suffix, and holds static methods that invoke all the annotated
+ * fields directly :
+ * <ul>
+ * <li>{@code clearAll(target)} : invokes {@code clear()} on every field</li>
+ * <li>{@code snapshot(target)} : returns an {@code Object[]} with the values of the fields</li>
+ * <li>{@code restore(target, snapshot)} : sets the values taken by {@code snapshot()}, and
+ * clears the fields that were empty</li>
+ * <li>{@code subscribeAll(target, consumer)} : subscribes a {@code Consumer} to every field</li>
+ * </ul>
+ * {@code Consumable} fields are not included in {@code snapshot()}, {@code restore()} and
+ * {@code subscribeAll()}, since reading them consumes their values
+ */
+public class RxPropertyProcessor extends AbstractProcessor
+{
+
+    static final String RX_PROPERTY = "io.reactivex.properties.annotations.RxProperty";
+    static final String PROPERTY = "io.reactivex.properties.Property";
+    static final String CONSUMABLE = "io.reactivex.properties.Consumable";
+    static final String SUFFIX = "_RxProperties";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(RX_PROPERTY);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(RX_PROPERTY);
+        if (annotation == null) {
+            return false;
+        }
+
+        Map<TypeElement, List<VariableElement>> fieldsByClass = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (isValidField(element)) {
+                TypeElement enclosingClass = (TypeElement) element.getEnclosingElement();
+                List<VariableElement> fields = fieldsByClass.get(enclosingClass);
+                if (fields == null) {
+                    fields = new ArrayList<>();
+                    fieldsByClass.put(enclosingClass, fields);
+                }
+                fields.add((VariableElement) element);
+            }
+        }
+
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : fieldsByClass.entrySet()) {
+            generateCompanion(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    private boolean isValidField(Element element) {
+        Messager messager = processingEnv.getMessager();
+        if (element.getKind() != ElementKind.FIELD) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@RxProperty is allowed on fields only",
+                    element);
+            return false;
+        }
+
+        Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    "@RxProperty fields must not be private or static", element);
+            return false;
+        }
+
+        if (!isSubTypeOf(element.asType(), PROPERTY)) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    "@RxProperty fields must be of type " + PROPERTY, element);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isSubTypeOf(TypeMirror type, String className) {
+        Types types = processingEnv.getTypeUtils();
+        TypeElement classElement = processingEnv.getElementUtils().getTypeElement(className);
+        return classElement != null
+                && types.isAssignable(types.erasure(type), types.erasure(classElement.asType()));
+    }
+
+    private void generateCompanion(TypeElement target, List<VariableElement> fields) {
+        String packageName = packageOf(target).getQualifiedName().toString();
+        String companionName = companionNameOf(target);
+        String targetName = processingEnv.getTypeUtils().erasure(target.asType()).toString();
+
+        StringBuilder code = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("/**\n")
+                .append(" * generated by ").append(getClass().getName())
+                .append(" for {@link ").append(targetName).append("}\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(companionName).append(" {\n\n")
+                .append("    private ").append(companionName).append("() {\n")
+                .append("    }\n\n");
+
+        appendClearAll(code, targetName, fields);
+        appendSnapshot(code, targetName, fields);
+        appendRestore(code, targetName, fields);
+        appendSubscribeAll(code, targetName, fields);
+        code.append("}\n");
+
+        String qualifiedName = packageName.isEmpty()
+                ? companionName
+                : packageName + "." + companionName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, target);
+            Writer writer = file.openWriter();
+            try {
+                writer.write(code.toString());
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "failed to generate " + qualifiedName + " : " + e.getMessage(), target);
+        }
+    }
+
+    private void appendClearAll(StringBuilder code, String targetName, List<VariableElement> fields) {
+        code.append("    public static void clearAll(").append(targetName).append(" target) {\n");
+        for (VariableElement field : fields) {
+            code.append("        target.").append(field.getSimpleName()).append(".clear();\n");
+        }
+        code.append("    }\n\n");
+    }
+
+    private void appendSnapshot(StringBuilder code, String targetName, List<VariableElement> fields) {
+        code.append("    public static Object[] snapshot(").append(targetName).append(" target) {\n")
+                .append("        return new Object[]{");
+        boolean first = true;
+        for (VariableElement field : fields) {
+            if (isSubTypeOf(field.asType(), CONSUMABLE)) {
+                continue;
+            }
+            if (!first) {
+                code.append(",");
+            }
+            code.append("\n                target.").append(field.getSimpleName()).append(".get()");
+            first = false;
+        }
+        code.append("\n        };\n")
+                .append("    }\n\n");
+    }
+
+    private void appendRestore(StringBuilder code, String targetName, List<VariableElement> fields) {
+        code.append("    public static void restore(").append(targetName)
+                .append(" target, Object[] snapshot) {\n");
+        int index = 0;
+        for (VariableElement field : fields) {
+            if (isSubTypeOf(field.asType(), CONSUMABLE)) {
+                continue;
+            }
+            code.append("        if (snapshot[").append(index).append("] != null) {\n")
+                    .append("            target.").append(field.getSimpleName()).append(".set((")
+                    .append(valueTypeOf(field.asType())).append(") snapshot[").append(index)
+                    .append("]);\n")
+                    .append("        } else {\n")
+                    .append("            target.").append(field.getSimpleName()).append(".clear();\n")
+                    .append("        }\n");
+            index++;
+        }
+        code.append("    }\n\n");
+    }
+
+    private void appendSubscribeAll(StringBuilder code, String targetName, List<VariableElement> fields) {
+        code.append("    public static io.reactivex.disposables.Disposable subscribeAll(")
+                .append(targetName)
+                .append(" target, io.reactivex.functions.Consumer<Object> consumer) {\n")
+                .append("        io.reactivex.disposables.CompositeDisposable disposables =\n")
+                .append("                new io.reactivex.disposables.CompositeDisposable();\n");
+        for (VariableElement field : fields) {
+            if (isSubTypeOf(field.asType(), CONSUMABLE)) {
+                continue;
+            }
+            code.append("        disposables.add(target.").append(field.getSimpleName())
+                    .append(".asObservable().subscribe(consumer));\n");
+        }
+        code.append("        return disposables;\n")
+                .append("    }\n\n");
+    }
+
+    /**
+     * the type that the values restored to a field are cast to, the generated methods are
+     * static, so the type variables of the target Class are not in scope there, and the
+     * erasure of the value type is used instead, which matches the raw-typed companion
+     */
+    private String valueTypeOf(TypeMirror type) {
+        TypeMirror valueType = findPropertyTypeArgument(type);
+        if (valueType == null || valueType.getKind() == TypeKind.WILDCARD) {
+            return "Object";
+        }
+        return processingEnv.getTypeUtils().erasure(valueType).toString();
+    }
+
+    private TypeMirror findPropertyTypeArgument(TypeMirror type) {
+        Types types = processingEnv.getTypeUtils();
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        DeclaredType declaredType = (DeclaredType) type;
+        TypeElement element = (TypeElement) declaredType.asElement();
+        if (element.getQualifiedName().contentEquals(PROPERTY)) {
+            List<? extends TypeMirror> arguments = declaredType.getTypeArguments();
+            return arguments.isEmpty() ? null : arguments.get(0);
+        }
+
+        for (TypeMirror superType : types.directSupertypes(type)) {
+            TypeMirror argument = findPropertyTypeArgument(superType);
+            if (argument != null) {
+                return argument;
+            }
+        }
+        return null;
+    }
+
+    private PackageElement packageOf(Element element) {
+        Element current = element;
+        while (current.getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+        return (PackageElement) current;
+    }
+
+    private String companionNameOf(TypeElement target) {
+        StringBuilder name = new StringBuilder(target.getSimpleName());
+        Element enclosing = target.getEnclosingElement();
+        while (enclosing.getKind() != ElementKind.PACKAGE) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+}
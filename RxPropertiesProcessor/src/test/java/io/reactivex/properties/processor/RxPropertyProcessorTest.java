@@ -0,0 +1,275 @@
+package io.reactivex.properties.processor;
+
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Consumer;
+import io.reactivex.properties.Property;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RxPropertyProcessorTest
+{
+
+    private static final String MODEL = "package sample;\n"
+            + "import io.reactivex.properties.Consumable;\n"
+            + "import io.reactivex.properties.Property;\n"
+            + "import io.reactivex.properties.annotations.RxProperty;\n"
+            + "public class Model {\n"
+            + "    @RxProperty final Property<String> name = new Property<>(\"name\");\n"
+            + "    @RxProperty final Consumable<String> message = new Consumable<>(\"message\");\n"
+            + "    @RxProperty final Property<Integer> age = new Property<>(10);\n"
+            + "    final Property<String> ignored = new Property<>(\"ignored\");\n"
+            + "}\n";
+
+    private File output;
+
+    @Before
+    public void createOutputDirectory() throws Exception {
+        output = Files.createTempDirectory("rx-property-processor").toFile();
+    }
+
+    @After
+    public void deleteOutputDirectory() {
+        delete(output);
+    }
+
+    @Test
+    public void clearAllAndClearOnlyTheAnnotatedFields() throws Exception {
+        ClassLoader loader = compile("sample.Model", MODEL);
+        Object model = newInstance(loader, "sample.Model");
+
+        invoke(loader, "sample.Model_RxProperties", "clearAll", model);
+
+        assertNull(property(model, "name").get());
+        assertNull(property(model, "message").get());
+        assertNull(property(model, "age").get());
+        assertEquals("ignored", property(model, "ignored").get());
+    }
+
+    @Test
+    public void snapshotAndSkipConsumableFields() throws Exception {
+        ClassLoader loader = compile("sample.Model", MODEL);
+        Object model = newInstance(loader, "sample.Model");
+
+        Object[] snapshot = (Object[]) invoke(loader, "sample.Model_RxProperties", "snapshot",
+                model);
+
+        assertArrayEquals(new Object[]{"name", 10}, snapshot);
+        assertEquals("message", property(model, "message").get());
+    }
+
+    @Test
+    public void restoreAndClearFieldsWithNullValues() throws Exception {
+        ClassLoader loader = compile("sample.Model", MODEL);
+        Object model = newInstance(loader, "sample.Model");
+
+        invoke(loader, "sample.Model_RxProperties", "restore", model,
+                new Object[]{"restored", null});
+
+        assertEquals("restored", property(model, "name").get());
+        assertNull(property(model, "age").get());
+    }
+
+    @Test
+    public void restoreAndSkipConsumableFields() throws Exception {
+        ClassLoader loader = compile("sample.Model", MODEL);
+        Object model = newInstance(loader, "sample.Model");
+
+        invoke(loader, "sample.Model_RxProperties", "restore", model,
+                new Object[]{"restored", 20});
+
+        assertEquals("message", property(model, "message").get());
+        assertEquals(20, property(model, "age").get());
+    }
+
+    @Test
+    public void subscribeAllAndSkipConsumableFields() throws Exception {
+        ClassLoader loader = compile("sample.Model", MODEL);
+        Object model = newInstance(loader, "sample.Model");
+        final List<Object> values = new ArrayList<>();
+
+        Disposable disposable = (Disposable) invoke(loader, "sample.Model_RxProperties",
+                "subscribeAll", model, new Consumer<Object>()
+                {
+                    @Override
+                    public void accept(Object value) throws Exception {
+                        values.add(value);
+                    }
+                });
+        setValue(model, "age", 20);
+        disposable.dispose();
+        setValue(model, "age", 30);
+
+        assertEquals(Arrays.<Object>asList("name", 10, 20), values);
+        assertEquals("message", property(model, "message").get());
+    }
+
+    @Test
+    public void generateCompanionForNestedClass() throws Exception {
+        ClassLoader loader = compile("sample.Outer", "package sample;\n"
+                + "import io.reactivex.properties.Property;\n"
+                + "import io.reactivex.properties.annotations.RxProperty;\n"
+                + "public class Outer {\n"
+                + "    public static class Inner {\n"
+                + "        @RxProperty final Property<String> label = new Property<>(\"label\");\n"
+                + "    }\n"
+                + "}\n");
+        Object inner = newInstance(loader, "sample.Outer$Inner");
+
+        invoke(loader, "sample.Outer_Inner_RxProperties", "clearAll", inner);
+
+        assertNull(property(inner, "label").get());
+    }
+
+    @Test
+    public void restoreFieldsWithGenericValueTypes() throws Exception {
+        ClassLoader loader = compile("sample.Holder", "package sample;\n"
+                + "import java.util.List;\n"
+                + "import io.reactivex.properties.Property;\n"
+                + "import io.reactivex.properties.annotations.RxProperty;\n"
+                + "public class Holder<T extends Number> {\n"
+                + "    @RxProperty final Property<List<T>> items = new Property<>();\n"
+                + "    @RxProperty final Property<T> first = new Property<>();\n"
+                + "}\n");
+        Object holder = newInstance(loader, "sample.Holder");
+
+        invoke(loader, "sample.Holder_RxProperties", "restore", holder,
+                new Object[]{Arrays.asList(1, 2), 1});
+
+        assertEquals(Arrays.asList(1, 2), property(holder, "items").get());
+        assertEquals(1, property(holder, "first").get());
+    }
+
+    @Test
+    public void rejectPrivateFields() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compileWithErrors("sample.Secret",
+                "package sample;\n"
+                        + "import io.reactivex.properties.Property;\n"
+                        + "import io.reactivex.properties.annotations.RxProperty;\n"
+                        + "public class Secret {\n"
+                        + "    @RxProperty private final Property<String> value = new Property<>();\n"
+                        + "}\n");
+
+        assertFalse(errors.isEmpty());
+        assertTrue(errors.get(0).getMessage(null).contains("must not be private or static"));
+    }
+
+    private ClassLoader compile(String className, String source) throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compileWithErrors(className, source);
+        assertTrue(errors.toString(), errors.isEmpty());
+        return new URLClassLoader(new URL[]{output.toURI().toURL()},
+                getClass().getClassLoader());
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compileWithErrors(String className,
+                                                                         String source)
+            throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
+                null, null);
+        try {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT,
+                    Collections.singletonList(output));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT,
+                    Collections.singletonList(output));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList("-classpath", System.getProperty("java.class.path")), null,
+                    Collections.singletonList(new Source(className, source)));
+            task.setProcessors(Collections.singletonList(new RxPropertyProcessor()));
+            task.call();
+        } finally {
+            fileManager.close();
+        }
+
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic);
+            }
+        }
+        return errors;
+    }
+
+    private Object newInstance(ClassLoader loader, String className) throws Exception {
+        return loader.loadClass(className).newInstance();
+    }
+
+    private Object invoke(ClassLoader loader, String companionName, String methodName,
+                          Object... arguments) throws Exception {
+        for (Method method : loader.loadClass(companionName).getMethods()) {
+            if (method.getName().equals(methodName)) {
+                return method.invoke(null, arguments);
+            }
+        }
+        throw new NoSuchMethodException(companionName + "." + methodName);
+    }
+
+    private Property<?> property(Object target, String fieldName) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return (Property<?>) field.get(target);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setValue(Object target, String fieldName, Object value) throws Exception {
+        ((Property<Object>) property(target, fieldName)).set(value);
+    }
+
+    private void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static class Source extends SimpleJavaFileObject
+    {
+        private final String code;
+
+        Source(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension),
+                    Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+}
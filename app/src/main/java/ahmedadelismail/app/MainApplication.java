@@ -0,0 +1,16 @@
+package ahmedadelismail.app;
+
+import android.app.Application;
+
+/**
+ * registers the {@link ModelFactory} instances before any {@link Model} is created
+ */
+public class MainApplication extends Application
+{
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        ModelFactories.registerAll();
+    }
+}
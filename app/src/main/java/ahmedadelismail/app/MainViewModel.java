@@ -2,6 +2,7 @@ package ahmedadelismail.app;
 
 import io.reactivex.properties.Consumable;
 import io.reactivex.properties.Property;
+import io.reactivex.properties.annotations.RxProperty;
 
 /**
  * Created by Ahmed Adel Ismail on 8/27/2017.
@@ -10,7 +11,9 @@ public class MainViewModel extends Model
 {
 
 
+    @RxProperty
     final Property<String> textViewLabel = new Property<>();
+    @RxProperty
     final Consumable<String> toastMessage = new Consumable<>("started");
 
     final String randomLabel() {
@@ -21,8 +24,7 @@ public class MainViewModel extends Model
 
     @Override
     protected void clear() {
-        textViewLabel.clear();
-        toastMessage.clear();
+        MainViewModel_RxProperties.clearAll(this);
     }
 
 }
@@ -7,6 +7,8 @@ import android.support.v4.app.FragmentManager;
 import android.support.v7.app.AppCompatActivity;
 
 import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * the parent class for all Model classes per application
@@ -16,6 +18,8 @@ import java.lang.reflect.Constructor;
 public class Model extends Fragment
 {
 
+    private static final Map<Class<?>, ModelFactory<?>> factories = new ConcurrentHashMap<>();
+
     @Override
     @CallSuper
     public void onCreate(Bundle savedInstanceState) {
@@ -32,7 +36,8 @@ public class Model extends Fragment
      * @return the valid {@link Model} instance
      * @throws RuntimeException if the initialization operation failed, make sure that all the
      * {@link Model} sub-classes have default no-args constructor
-     * (or no declared constructors at all)
+     * (or no declared constructors at all), or have a {@link ModelFactory} registered through
+     * {@link #register(Class, ModelFactory)}
      */
     @SuppressWarnings("unchecked")
     public static <T extends Model> T of(AppCompatActivity activity, Class<T> modelClass)
@@ -47,22 +52,72 @@ public class Model extends Fragment
         return viewModel;
     }
 
-    @SuppressWarnings("unchecked")
     private static <T extends Model> T createNewInstance(FragmentManager fm, Class<T> modelClass) {
-        T viewModel = (T) constructModel(modelClass);
+        T viewModel = factoryOf(modelClass).create();
         fm.beginTransaction()
                 .add(viewModel, modelClass.getName())
                 .commitAllowingStateLoss();
         return viewModel;
     }
 
-    private static Object constructModel(Class<?> modelClass) {
-        try {
-            Constructor constructor = modelClass.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            return constructor.newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    @SuppressWarnings("unchecked")
+    private static <T extends Model> ModelFactory<T> factoryOf(Class<T> modelClass) {
+        ModelFactory<T> factory = (ModelFactory<T>) factories.get(modelClass);
+        if (factory == null) {
+            factory = new ConstructorFactory<>(modelClass);
+            factories.put(modelClass, factory);
+        }
+        return factory;
+    }
+
+    /**
+     * register a {@link ModelFactory} that will be used by {@link #of(AppCompatActivity, Class)}
+     * to create new instances of the passed {@link Model} sub-class, this avoids the
+     * reflection used to invoke the no-args constructor, if no {@link ModelFactory} is registered,
+     * the no-args constructor is looked up once per {@link Class} and cached
+     * <p>
+     * the factories of this application are registered by {@link ModelFactories#registerAll()}
+     * from {@link MainApplication#onCreate()}, before the first call to
+     * {@link #of(AppCompatActivity, Class)}
+     *
+     * @param modelClass the {@link Class} of the sub-class of the {@link Model}
+     * @param factory    the {@link ModelFactory} that creates the new instances
+     * @param <T>        the sub-class type
+     */
+    public static <T extends Model> void register(Class<T> modelClass, ModelFactory<T> factory) {
+        factories.put(modelClass, factory);
+    }
+
+    /**
+     * @param modelClass the {@link Class} of the sub-class of the {@link Model}
+     * @return {@code true} if the instances of this {@link Class} are created by a registered
+     * {@link ModelFactory}, and {@code false} if they are created through reflection
+     */
+    static boolean hasRegisteredFactory(Class<? extends Model> modelClass) {
+        ModelFactory<?> factory = factories.get(modelClass);
+        return factory != null && !(factory instanceof ConstructorFactory);
+    }
+
+    private static class ConstructorFactory<T extends Model> implements ModelFactory<T>
+    {
+        private final Constructor<T> constructor;
+
+        ConstructorFactory(Class<T> modelClass) {
+            try {
+                constructor = modelClass.getDeclaredConstructor();
+                constructor.setAccessible(true);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public T create() {
+            try {
+                return constructor.newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 
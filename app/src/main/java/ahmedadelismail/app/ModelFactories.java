@@ -0,0 +1,23 @@
+package ahmedadelismail.app;
+
+/**
+ * registers the {@link ModelFactory} of every {@link Model} sub-class in this application, so
+ * {@link Model#of(android.support.v7.app.AppCompatActivity, Class)} creates them without
+ * reflection, every new {@link Model} sub-class should be added here
+ */
+final class ModelFactories
+{
+
+    private ModelFactories() {
+    }
+
+    static void registerAll() {
+        Model.register(MainViewModel.class, new ModelFactory<MainViewModel>()
+        {
+            @Override
+            public MainViewModel create() {
+                return new MainViewModel();
+            }
+        });
+    }
+}
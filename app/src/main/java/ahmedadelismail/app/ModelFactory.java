@@ -0,0 +1,18 @@
+package ahmedadelismail.app;
+
+/**
+ * a factory that creates new instances of a {@link Model} sub-class without reflection, register
+ * it through {@link Model#register(Class, ModelFactory)}
+ *
+ * @param <T> the type of the {@link Model} sub-class
+ */
+public interface ModelFactory<T extends Model>
+{
+
+    /**
+     * create a new instance of the {@link Model} sub-class
+     *
+     * @return the new instance
+     */
+    T create();
+}
@@ -0,0 +1,14 @@
+package ahmedadelismail.app;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class ModelFactoriesTest
+{
+    @Test
+    public void registerAllAndCreateEveryModelWithoutReflection() throws Exception {
+        ModelFactories.registerAll();
+        assertTrue(Model.hasRegisteredFactory(MainViewModel.class));
+    }
+}